@@ -1,6 +1,24 @@
 package io.playground.scraper.core;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import io.playground.scraper.core.devtools.CommandBatch;
+import io.playground.scraper.core.devtools.ContextRegistry;
+import io.playground.scraper.core.devtools.DevToolsConnection;
+import io.playground.scraper.core.devtools.DevToolsMetrics;
+import io.playground.scraper.core.devtools.DevToolsStream;
+import io.playground.scraper.core.devtools.EventBuffer;
+import io.playground.scraper.core.devtools.EventDispatcher;
+import io.playground.scraper.core.devtools.FetchHandler;
+import io.playground.scraper.core.devtools.FunctionRegistry;
+import io.playground.scraper.core.devtools.PageFunctions;
+import io.playground.scraper.core.devtools.PageSourceWriter;
+import io.playground.scraper.core.devtools.PageStabilityTracker;
+import io.playground.scraper.core.devtools.PayloadDecoder;
+import io.playground.scraper.core.devtools.Screencast;
+import io.playground.scraper.core.devtools.Subscription;
+import io.playground.scraper.core.input.Keyboard;
+import io.playground.scraper.core.input.Mouse;
+import io.playground.scraper.core.snapshot.DomSnapshot;
 import io.playground.scraper.model.chromedevtools.BrowserInfo;
 import io.playground.scraper.model.chromedevtools.DevToolsMethod;
 import io.playground.scraper.model.chromedevtools.DevToolsPayload;
@@ -14,127 +32,173 @@ import io.playground.scraper.model.response.boxmodel.Rect;
 import io.playground.scraper.model.response.cookie.CookieParams;
 import io.playground.scraper.model.response.css.CSSStyle;
 import io.playground.scraper.model.response.css.ComputedStyle;
+import io.playground.scraper.model.response.domsnapshot.CapturedSnapshot;
+import io.playground.scraper.model.response.element.ElementSnapshot;
+import io.playground.scraper.model.response.element.ElementSnapshotQuery;
 import io.playground.scraper.model.response.frame.FrameTree;
+import io.playground.scraper.model.response.heap.HeapUsage;
 import io.playground.scraper.model.response.history.NavigationHistory;
 import io.playground.scraper.model.response.html.OuterHtml;
+import io.playground.scraper.model.response.html.PageSourceOptions;
+import io.playground.scraper.model.response.html.PageSourceResult;
 import io.playground.scraper.model.response.node.Node;
 import io.playground.scraper.model.response.node.RootNode;
+import io.playground.scraper.model.response.property.ObjectProperties;
+import io.playground.scraper.model.response.property.PropertyDescriptor;
+import io.playground.scraper.model.response.screenshot.ScreencastFrame;
+import io.playground.scraper.model.response.screenshot.ScreencastOptions;
 import io.playground.scraper.model.response.screenshot.ScreenshotData;
+import io.playground.scraper.model.response.screenshot.ScreenshotFormat;
+import io.playground.scraper.model.response.screenshot.ScreenshotOptions;
 import io.playground.scraper.model.response.screenshot.ViewPort;
+import io.playground.scraper.model.response.stream.StreamChunk;
+import io.playground.scraper.model.response.stream.StreamHandle;
 import io.playground.scraper.model.response.target.TargetInfo;
 import io.playground.scraper.model.response.target.TargetInfoProp;
 import io.playground.scraper.model.response.target.TargetInfos;
 import io.playground.scraper.model.response.window.WindowBounds;
 import io.playground.scraper.model.response.window.WindowInfo;
 import io.playground.scraper.util.JacksonUtil;
-import jakarta.websocket.*;
 import lombok.extern.slf4j.Slf4j;
-import org.awaitility.Awaitility;
-import org.awaitility.core.ConditionFactory;
-import org.awaitility.core.ConditionTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
 
 import java.io.IOException;
-import java.net.URI;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 @Slf4j
-@ClientEndpoint
 public class DevToolsClient {
 
     public static final int DEFAULT_TIMEOUT_IN_MS = 30000;
-    private static final ConditionFactory await = Awaitility.waitAtMost(Duration.ofMillis(DEFAULT_TIMEOUT_IN_MS))
-                                                            .pollDelay(Duration.ZERO)
-                                                            .ignoreExceptions();
-    private final String endpoint;
-    private final boolean logEvents;
+    private static final List<String> COOKIE_PARAM_KEYS = List.of("name", "value", "domain", "path", "secure", "httpOnly",
+                                                                  "sameSite", "expires", "priority", "sameParty",
+                                                                  "sourceScheme", "sourcePort", "partitionKey");
+    private final DevToolsConnection connection;
+    private final boolean ownsConnection;
+    private final String sessionId;
     private final UCDriverOptions ucDriverOptions;
-    private int requestId;
-    private Session session;
-    private final Map<Integer, DevToolsPayload> messages = new ConcurrentHashMap<>();
-    private final List<DevToolsPayload> events = new ArrayList<>();
-    private final List<String> dialogMessages = new ArrayList<>();
-
-    private String globalThisId;
-    private int rootNodeId;
-    private String rootObjectId;
-    private String currentFrameId;
-    private int currentExecutionContextId;
+    private final EventBuffer events = new EventBuffer();
+    private final EventDispatcher dispatcher = new EventDispatcher();
+    private final PageStabilityTracker stabilityTracker = new PageStabilityTracker();
+    private final ContextRegistry contexts = new ContextRegistry();
+    private final FunctionRegistry functions = new FunctionRegistry();
+    private final Mouse mouse;
+    private final List<FetchHandler> fetchHandlers = new CopyOnWriteArrayList<>();
+    private final List<String> dialogMessages = new CopyOnWriteArrayList<>();
+    private final Set<String> visitedOrigins = ConcurrentHashMap.newKeySet();
+    private volatile boolean dialogOpen;
+    private volatile boolean crashed;
+    private volatile String lastUrl;
+
 
     public DevToolsClient(String endpoint) {
         this(endpoint, UCDriverOptions.builder().build());
     }
 
     public DevToolsClient(String endpoint, UCDriverOptions ucDriverOptions) {
-        try {
-            Runtime.getRuntime().addShutdownHook(new Thread(this::quit));
-            this.endpoint = endpoint;
-            this.ucDriverOptions = ucDriverOptions;
-            this.logEvents = ucDriverOptions.isLogCDPEvents();
-            WebSocketContainer container = ContainerProvider.getWebSocketContainer();
-            container.connectToServer(this, new URI(endpoint));
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        this(new DevToolsConnection(endpoint, ucDriverOptions.isLogCDPEvents()), null, ucDriverOptions, true);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::quit));
+    }
+
+    public DevToolsClient(DevToolsConnection connection, String sessionId, UCDriverOptions ucDriverOptions) {
+        this(connection, sessionId, ucDriverOptions, false);
+    }
+
+    private DevToolsClient(DevToolsConnection connection, String sessionId, UCDriverOptions ucDriverOptions, 
+                           boolean ownsConnection) {
+        this.connection = connection;
+        this.sessionId = sessionId;
+        this.ucDriverOptions = ucDriverOptions;
+        this.mouse = new Mouse(this, ucDriverOptions.getMotionFidelity());
+        PageFunctions.registerDefaults(functions);
+        this.ownsConnection = ownsConnection;
+        registerDefaultEventHandlers();
+        connection.addSession(sessionId, this::onEvent);
+    }
+
+    public DevToolsConnection getConnection() {
+        return connection;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public DevToolsMetrics.Snapshot getMetrics() {
+        return connection.getMetrics().snapshot();
     }
 
-    @OnOpen
-    public void onOpen(Session session) {
-        this.session = session;
-        log.info("Connected to server {}!", endpoint);
+    public void onEvent(DevToolsPayload payload) {
+        dispatcher.dispatch(payload);
     }
 
-    @OnMessage
-    public void onMessage(String message) {
-        if (logEvents) {
-            if (message.length() < 1000) {
-                log.info("Received from ChromeDevTools: {}", message);
-            } else {
-                log.info("Received from ChromeDevTools: {}...", message.substring(0, 1000));
+    private void registerDefaultEventHandlers() {
+        dispatcher.register(DevToolsMethod.FETCH_REQUEST_PAUSED.getMethod(), this::handleFetchEvent);
+        dispatcher.register(DevToolsMethod.FETCH_AUTH_REQUIRED.getMethod(), this::handleFetchEvent);
+        contexts.register(dispatcher);
+        dispatcher.register(DevToolsMethod.PAGE_JAVASCRIPT_DIALOG_OPENING.getMethod(), event -> {
+            dialogOpen = true;
+            if (event.hasParam() && event.getParams().get("message") instanceof String message) {
+                dialogMessages.add(message);
             }
-        }
-        try {
-            DevToolsPayload payload = JacksonUtil.readValue(message, DevToolsPayload.class);
-            if (payload.isError() || message.contains("exceptionDetails")) {
-                log.error("ErrorMessage[{}]", message);
+        });
+        dispatcher.register(DevToolsMethod.PAGE_JAVASCRIPT_DIALOG_CLOSED.getMethod(), event -> dialogOpen = false);
+        dispatcher.register(DevToolsMethod.PAGE_FRAME_NAVIGATED.getMethod(), event -> {
+            if (event.hasParam() && event.getParams().get("frame") instanceof Map<?, ?> frame
+                    && frame.get("securityOrigin") instanceof String origin && origin.startsWith("http")) {
+                visitedOrigins.add(origin);
+                if (frame.get("parentId") == null && frame.get("url") instanceof String url) {
+                    lastUrl = url;
+                }
             }
-            
-            if (payload.hasId()) {
-                messages.put(payload.getId(), payload);
-            } else if (payload.isEvent()) {
-                if (payload.getMethod().contains("Fetch") && payload.hasParam() && payload.getParams().containsKey("requestId")) {
-                    String requestId = (String) payload.getParams().get("requestId");
-                    if (payload.getMethod().equals(DevToolsMethod.FETCH_AUTH_REQUIRED.getMethod())) {
-                        fetchContinueWithAuth(requestId, ucDriverOptions.getProxyUsername(), ucDriverOptions.getProxyPassword());
-                    } else {
-                        fetchContinueRequest(requestId);
-                    }
+        });
+        dispatcher.register(DevToolsMethod.INSPECTOR_TARGET_CRASHED.getMethod(), event -> {
+            crashed = true;
+            log.error("Target of session {} crashed!", sessionId);
+            connection.failPending(sessionId, new WebDriverException("Target of session " + sessionId + " crashed!"));
+        });
+        stabilityTracker.register(dispatcher);
+        dispatcher.register(EventDispatcher.ALL_EVENTS, event -> {
+            if (!event.getMethod().startsWith("Fetch.") 
+                    && !event.getMethod().equals(DevToolsMethod.PAGE_SCREENCAST_FRAME.getMethod())) {
+                events.add(event);
+            }
+        });
+    }
+
+    private void handleFetchEvent(DevToolsPayload event) {
+        if (!event.hasParam() || !(event.getParams().get("requestId") instanceof String requestId)) {
+            return;
+        }
+        for (FetchHandler fetchHandler : fetchHandlers) {
+            try {
+                if (fetchHandler.handle(this, event)) {
                     return;
                 }
-                
-                events.add(payload);
-                if (payload.getMethod().equals(DevToolsMethod.PAGE_LOAD_EVENT_FIRED.getMethod()) 
-//                        || payload.getMethod().equals(DevToolsMethod.PAGE_FRAME_STOPPED_LOADING.getMethod())
-//                        || payload.getMethod().equals(DevToolsMethod.DOM_CHILD_NODE_COUNT_UPDATED.getMethod())
-                ) {
-                    resetContext();
-                } else if (payload.getMethod().equals(DevToolsMethod.PAGE_JAVASCRIPT_DIALOG_OPENING.getMethod())) {
-                    try {
-                        dialogMessages.add((String) payload.getResult().get("message"));
-                    } catch (Exception ignored){
-                    }
-                }
+            } catch (Exception e) {
+                log.error("Fetch handler failed for request {}: {}", requestId, e.getMessage(), e);
             }
-        } catch (Exception ignored) {
+        }
+        if (event.getMethod().equals(DevToolsMethod.FETCH_AUTH_REQUIRED.getMethod())) {
+            fetchContinueWithAuth(requestId, ucDriverOptions.getProxyUsername(), ucDriverOptions.getProxyPassword());
+        } else {
+            fetchContinueRequest(requestId);
         }
     }
 
+    public Subscription addFetchHandler(FetchHandler fetchHandler) {
+        fetchHandlers.add(fetchHandler);
+        return () -> fetchHandlers.remove(fetchHandler);
+    }
+
     public void send(String message) {
-        session.getAsyncRemote().sendText(message);
-        if (logEvents) {
-            log.info("Sent message '{}' to server '{}'!", message, endpoint);
-        }
+        connection.send(message);
     }
 
     public void send(DevToolsMethod method, Map<String, Object> params) {
@@ -142,8 +206,9 @@ public class DevToolsClient {
     }
 
     public DevToolsPayload sendAndWait(String message) {
-        send(message);
-        return await.until(() -> messages.get(requestId), Objects::nonNull);
+        DevToolsPayload payload = PayloadDecoder.decode(message);
+        return await(connection.sendAsync(payload.getId(), payload.getMethod(), message, 
+                                          Duration.ofMillis(DEFAULT_TIMEOUT_IN_MS)));
     }
 
     public DevToolsPayload sendAndWait(DevToolsMethod method) {
@@ -151,31 +216,85 @@ public class DevToolsClient {
     }
 
     public DevToolsPayload sendAndWait(DevToolsMethod method, Map<String, Object> params) {
-        send(createPayload(method, params));
-        return await.until(() -> messages.get(requestId), Objects::nonNull);
+        return await(sendAsync(method, params));
+    }
+
+    public CompletableFuture<DevToolsPayload> sendAsync(DevToolsMethod method) {
+        return sendAsync(method, null);
+    }
+
+    public CompletableFuture<DevToolsPayload> sendAsync(DevToolsMethod method, Map<String, Object> params) {
+        return sendAsync(method, params, Duration.ofMillis(DEFAULT_TIMEOUT_IN_MS));
+    }
+
+    public CompletableFuture<DevToolsPayload> sendAsync(DevToolsMethod method, Map<String, Object> params, Duration timeout) {
+        return connection.sendAsync(sessionId, method.getMethod(), params, timeout);
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof WebDriverException webDriverException) {
+                throw webDriverException;
+            }
+            throw new WebDriverException(e.getCause());
+        }
+    }
+
+    public long getEventSequence() {
+        return events.getSequence();
+    }
+
+    public CompletableFuture<DevToolsPayload> awaitEvent(DevToolsMethod method, Predicate<DevToolsPayload> predicate) {
+        return awaitEvent(method.getMethod(), events.getSequence(), predicate, Duration.ofMillis(DEFAULT_TIMEOUT_IN_MS));
+    }
+
+    public CompletableFuture<DevToolsPayload> awaitEvent(String method, long from, Predicate<DevToolsPayload> predicate,
+                                                         Duration timeout) {
+        return DevToolsConnection.withTimeout(events.await(method, from, predicate), timeout, "No event '" + method + "'");
     }
 
-    public boolean waitForEvent(DevToolsMethod targetEvent, int from) {
+    public Subscription subscribe(DevToolsMethod method, Consumer<DevToolsPayload> handler) {
+        return subscribe(method.getMethod(), handler);
+    }
+
+    public Subscription subscribe(String methodOrDomain, Consumer<DevToolsPayload> handler) {
+        return dispatcher.register(methodOrDomain, handler);
+    }
+
+    public boolean waitForEvent(DevToolsMethod targetEvent, long from) {
         return waitForEvent(targetEvent.getMethod(), from, false);
     }
 
-    public boolean waitForEvent(DevToolsMethod targetEvent, int from, boolean waitForStability) {
+    public boolean waitForEvent(DevToolsMethod targetEvent, long from, boolean waitForStability) {
         return waitForEvent(targetEvent.getMethod(), from, waitForStability);
     }
     
-    public boolean waitForEvent(String targetEvent, int from, boolean waitForStability) {
+    public boolean waitForEvent(String targetEvent, long from, boolean waitForStability) {
         try {
-            await.until(() -> {
-                for (int i = events.size() - 1; i >= from; i--) {
-                    DevToolsPayload event = events.get(i);
-                    if (event.isEvent() && event.getMethod().equals(targetEvent)) {
-                        return !waitForStability || waitForLoadingEventToStop();
-                    }
-                }
-                return false;
-            });
+            await(awaitEvent(targetEvent, from, event -> true, Duration.ofMillis(DEFAULT_TIMEOUT_IN_MS)));
+            return !waitForStability || waitForNetworkIdle();
+        } catch (TimeoutException ignored) {
+        }
+        return false;
+    }
+
+    public boolean waitForNetworkIdle() {
+        return waitForNetworkIdle(ucDriverOptions.getPageStabilityTimeoutInMs());
+    }
+
+    public boolean waitForNetworkIdle(int timeoutInMs) {
+        return waitForNetworkIdle(ucDriverOptions.getNetworkQuietWindowInMs(), timeoutInMs);
+    }
+
+    public boolean waitForNetworkIdle(int quietWindowInMs, int timeoutInMs) {
+        CompletableFuture<Void> idle = stabilityTracker.awaitIdle(Duration.ofMillis(quietWindowInMs),
+                                                                  ucDriverOptions.getNetworkIdleMaxInflightRequests());
+        try {
+            await(DevToolsConnection.withTimeout(idle, Duration.ofMillis(timeoutInMs), "Network didn't become idle"));
             return true;
-        } catch (ConditionTimeoutException ignored) {
+        } catch (TimeoutException ignored) {
         }
         return false;
     }
@@ -185,17 +304,38 @@ public class DevToolsClient {
     }
     
     public boolean waitForLoadingEventToStop(int delayInMs) {
+        return waitForLoadingEventToStop(delayInMs, DEFAULT_TIMEOUT_IN_MS);
+    }
+
+    public boolean waitForLoadingEventToStop(int delayInMs, int timeoutInMs) {
+        CompletableFuture<Void> quiet = new CompletableFuture<>();
+        scheduleQuietCheck(quiet, System.nanoTime(), TimeUnit.MILLISECONDS.toNanos(delayInMs));
         try {
-            int eventSize = events.size();
-            return Awaitility.waitAtMost(Duration.ofMillis(delayInMs + 100))
-                             .pollDelay(Duration.ofMillis(delayInMs))
-                             .pollInterval(Duration.ofMillis(30))
-                             .until(() -> events.size() == eventSize, result -> result);
-        } catch (ConditionTimeoutException ignored) {
+            await(DevToolsConnection.withTimeout(quiet, Duration.ofMillis(timeoutInMs), "Events didn't stop"));
+            return true;
+        } catch (TimeoutException ignored) {
         }
         return false;
     }
 
+    private void scheduleQuietCheck(CompletableFuture<Void> quiet, long startNanos, long quietWindowNanos) {
+        if (quiet.isDone()) {
+            return;
+        }
+        long quietSince = Math.max(startNanos, events.getLastEventNanos());
+        long remaining = quietWindowNanos - (System.nanoTime() - quietSince);
+        if (remaining <= 0) {
+            quiet.complete(null);
+        } else {
+            DevToolsConnection.getScheduler().schedule(() -> scheduleQuietCheck(quiet, startNanos, quietWindowNanos),
+                                                       remaining, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public CommandBatch batch() {
+        return new CommandBatch(this);
+    }
+
     public String createPayload(DevToolsMethod method) {
         return createPayload(method, null);
     }
@@ -209,12 +349,7 @@ public class DevToolsClient {
     }
 
     public String createPayload(String method, Map<String, Object> params) {
-        DevToolsPayload payload = DevToolsPayload.builder()
-                                                 .id(++requestId)
-                                                 .method(method)
-                                                 .params(params)
-                                                 .build();
-        return JacksonUtil.writeValueAsString(payload);
+        return connection.createPayload(connection.nextRequestId(), sessionId, method, params);
     }
     
     public String getLastDialogMessage() {
@@ -225,17 +360,31 @@ public class DevToolsClient {
     }
     
     public boolean isOpen() {
-        return session != null && session.isOpen();
+        return !crashed && connection.isOpen() && connection.hasSession(sessionId);
+    }
+
+    public boolean isCrashed() {
+        return crashed;
+    }
+
+    /**
+     * Url of the last http(s) document the main frame navigated to, kept so a crashed session can be restored.
+     */
+    public String getLastUrl() {
+        return lastUrl;
     }
 
     public void quit() {
-        if (isOpen()) {
+        if (ownsConnection) {
+//            closeBrowser();
+            connection.close();
+        } else if (connection.isOpen() && connection.hasSession(sessionId)) {
+            connection.removeSession(sessionId);
             try {
-//                closeBrowser();
-                session.close();
-                log.info("Closed the session with server '{}'!", endpoint);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+                connection.sendAsync(null, DevToolsMethod.TARGET_DETACH_FROM_TARGET.getMethod(), 
+                                     Map.of("sessionId", sessionId), Duration.ofMillis(DEFAULT_TIMEOUT_IN_MS));
+            } catch (Exception e) {
+                log.error(e.getMessage());
             }
         }
     }
@@ -247,7 +396,7 @@ public class DevToolsClient {
     public BrowserInfo getBrowserVersion() {
         DevToolsPayload payload = sendAndWait(DevToolsMethod.BROWSER_GET_VERSION);
         if (payload.isResult()) {
-            return JacksonUtil.convertValue(payload.getResult(), BrowserInfo.class);
+            return payload.getResultAs(BrowserInfo.class);
         }
         return null;
     }
@@ -259,7 +408,7 @@ public class DevToolsClient {
     public WindowInfo getWindowForTarget(String targetId) {
         DevToolsPayload payload = sendAndWait(DevToolsMethod.BROWSER_GET_WINDOW_FOR_TARGET, Map.of("targetId", targetId));
         if (payload.isResult()) {
-            return JacksonUtil.convertValue(payload.getResult(), WindowInfo.class);
+            return payload.getResultAs(WindowInfo.class);
         }
         return null;
     }
@@ -267,7 +416,7 @@ public class DevToolsClient {
     public WindowBounds getWindowBounds(String targetId) {
         DevToolsPayload payload = sendAndWait(DevToolsMethod.BROWSER_GET_WINDOW_BOUNDS, Map.of("targetId", targetId));
         if (payload.isResult()) {
-            return JacksonUtil.convertValue(payload.getResult(), WindowBounds.class);
+            return payload.getResultAs(WindowBounds.class);
         }
         return null;
     }
@@ -292,28 +441,112 @@ public class DevToolsClient {
     public CookieParams getCookies() {
         DevToolsPayload payload = sendAndWait(DevToolsMethod.NETWORK_GET_COOKIES);
         if (payload.isResult()) {
-            return JacksonUtil.convertValue(payload.getResult(), CookieParams.class);
+            return payload.getResultAs(CookieParams.class);
         }
         return null;
     }
 
+    /**
+     * Every cookie of the browser (or of {@code browserContextId}) as raw protocol objects, reduced to the fields
+     * Storage.setCookies accepts so they can be restored as they are.
+     */
+    public List<Map<String, Object>> getAllCookies(String browserContextId) {
+        DevToolsPayload payload = sendAndWait(DevToolsMethod.STORAGE_GET_COOKIES, browserContextId != null 
+                ? Map.of("browserContextId", browserContextId) : null);
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        if (payload.isResult() && payload.getResult().get("cookies") instanceof List<?> list) {
+            for (Object item : list) {
+                if (item instanceof Map<?, ?> cookie) {
+                    Map<String, Object> param = new HashMap<>();
+                    for (String key : COOKIE_PARAM_KEYS) {
+                        if (cookie.get(key) != null) {
+                            param.put(key, cookie.get(key));
+                        }
+                    }
+                    if (Boolean.TRUE.equals(cookie.get("session"))) {
+                        param.remove("expires");
+                    }
+                    cookies.add(param);
+                }
+            }
+        }
+        return cookies;
+    }
+
+    public void setAllCookies(List<Map<String, Object>> cookies, String browserContextId) {
+        if (cookies == null || cookies.isEmpty()) {
+            return;
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("cookies", cookies);
+        if (browserContextId != null) {
+            params.put("browserContextId", browserContextId);
+        }
+        sendAndWait(DevToolsMethod.STORAGE_SET_COOKIES, params);
+    }
+
     public void deleteAllCookies() {
         sendAndWait(DevToolsMethod.NETWORK_CLEAR_BROWSER_COOKIES);
     }
 
+    public Set<String> drainVisitedOrigins() {
+        Set<String> origins = new HashSet<>(visitedOrigins);
+        visitedOrigins.removeAll(origins);
+        return origins;
+    }
+
+    public void clearBrowsingData(Collection<String> origins) {
+        CommandBatch batch = batch().add(DevToolsMethod.NETWORK_CLEAR_BROWSER_COOKIES)
+                                    .add(DevToolsMethod.NETWORK_CLEAR_BROWSER_CACHE);
+        for (String origin : origins) {
+            batch.add(DevToolsMethod.STORAGE_CLEAR_DATA_FOR_ORIGIN, Map.of("origin", origin, "storageTypes", "all"));
+        }
+        batch.execute();
+    }
+
+    public HeapUsage getHeapUsage() {
+        DevToolsPayload payload = sendAndWait(DevToolsMethod.RUNTIME_GET_HEAP_USAGE);
+        if (payload.isResult()) {
+            return payload.getResultAs(HeapUsage.class);
+        }
+        return null;
+    }
+
+    public boolean ping(Duration timeout) {
+        try {
+            return isOpen() && sendAsync(DevToolsMethod.BROWSER_GET_VERSION, null, timeout).join().isResult();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     public void enablePage() {
         sendAndWait(DevToolsMethod.PAGE_ENABLE);
     }
 
+    public void enableInspector() {
+        sendAndWait(DevToolsMethod.INSPECTOR_ENABLE);
+    }
+
+    public void enableRuntime() {
+        sendAndWait(DevToolsMethod.RUNTIME_ENABLE);
+    }
+
+    public void enableNetworkTracking() {
+        batch().add(DevToolsMethod.NETWORK_ENABLE)
+               .add(DevToolsMethod.PAGE_SET_LIFECYCLE_EVENTS_ENABLED, Map.of("enabled", true))
+               .execute();
+    }
+
     public boolean navigate(String url) {
         boolean navigated = false;
         try {
-            int lastEventIndex = events.size() - 1;
+            long lastEventSequence = events.getSequence();
+            stabilityTracker.markActivity();
             sendAndWait(DevToolsMethod.PAGE_NAVIGATE, Map.of("url", url, "transitionType", "link"));
-//            waitForEvent(DevToolsMethod.PAGE_LOAD_EVENT_FIRED, lastEventIndex);
-            waitForEvent(DevToolsMethod.PAGE_FRAME_STOPPED_LOADING, lastEventIndex, true);
-            navigated = true;
-        } catch (ConditionTimeoutException e) {
+//            waitForEvent(DevToolsMethod.PAGE_LOAD_EVENT_FIRED, lastEventSequence);
+            navigated = waitForEvent(DevToolsMethod.PAGE_FRAME_STOPPED_LOADING, lastEventSequence, true);
+        } catch (TimeoutException e) {
             log.error(e.getMessage());
         }
         return navigated;
@@ -347,29 +580,42 @@ public class DevToolsClient {
     }
 
     public Rect getRect(String objectId) {
-        String script = """
-                        let clientRect = obj.getBoundingClientRect();
-                        let rect = {
-                            x: clientRect.x,
-                            y: clientRect.y,
-                            width: clientRect.width,
-                            height: clientRect.height,
-                            scrollLeft: obj.scrollLeft,
-                            scrollTop: obj.scrollTop,
-                            clientLeft: obj.clientLeft,
-                            clientTop: obj.clientTop,
-                            clientWidth: obj.clientWidth,
-                            clientHeight: obj.clientHeight,
-                        };
-                        return rect;
-                        """;
-        ScriptNode scriptNode = executeScript(script, objectId, "json");
-        if (scriptNode != null) {
+        ScriptNode scriptNode = callFunction(objectId, PageFunctions.RECT, "json");
+        if (scriptNode != null && scriptNode.result().value() != null) {
             return JacksonUtil.convertValue(scriptNode.result().value(), Rect.class);
         }
         return null;
     }
     
+    public ElementSnapshot getElementSnapshot(String objectId, ElementSnapshotQuery query) {
+        ScriptNode scriptNode = callFunction(objectId, PageFunctions.SNAPSHOT, "json", query);
+        if (scriptNode != null && scriptNode.result().value() != null) {
+            return JacksonUtil.convertValue(scriptNode.result().value(), ElementSnapshot.class);
+        }
+        return null;
+    }
+
+    public CompletableFuture<ViewPort> getElementClipAsync(String objectId) {
+        return callFunctionAsync(objectId, PageFunctions.CLIP, "json").thenApply(scriptNode -> {
+            if (scriptNode != null && scriptNode.result() != null && scriptNode.result().value() != null) {
+                return JacksonUtil.convertValue(scriptNode.result().value(), ViewPort.class);
+            }
+            return null;
+        });
+    }
+
+    public DomSnapshot captureSnapshot(List<String> computedStyles) {
+        DevToolsPayload payload = sendAndWait(DevToolsMethod.DOM_SNAPSHOT_CAPTURE_SNAPSHOT,
+                                              Map.of("computedStyles", computedStyles));
+        if (payload.isResult()) {
+            CapturedSnapshot captured = payload.getResultAs(CapturedSnapshot.class);
+            if (captured != null) {
+                return DomSnapshot.from(captured, computedStyles);
+            }
+        }
+        return null;
+    }
+
     public void reloadPage() {
         sendAndWait(DevToolsMethod.PAGE_RELOAD, Map.of("ignoreCache", true));
     }
@@ -393,7 +639,7 @@ public class DevToolsClient {
     public NavigationHistory getNavigationHistory() {
         DevToolsPayload payload = sendAndWait(DevToolsMethod.PAGE_GET_NAVIGATION_HISTORY);
         if (payload.isResult()) {
-            return JacksonUtil.convertValue(payload.getResult(), NavigationHistory.class);
+            return payload.getResultAs(NavigationHistory.class);
         }
         return null;
     }
@@ -406,6 +652,10 @@ public class DevToolsClient {
         handleJavaScriptDialog(accept, null);
     }
     
+    public boolean isDialogOpen() {
+        return dialogOpen;
+    }
+
     public void handleJavaScriptDialog(boolean accept, String promptText) {
         Map<String, Object> params = new HashMap<>();
         params.put("accept", accept);
@@ -418,7 +668,7 @@ public class DevToolsClient {
     public TargetInfos getTargets() {
         DevToolsPayload payload = sendAndWait(DevToolsMethod.TARGET_GET_TARGETS);
         if (payload.isResult()) {
-            return JacksonUtil.convertValue(payload.getResult(), TargetInfos.class);
+            return payload.getResultAs(TargetInfos.class);
         }
         return null;
     }
@@ -426,31 +676,67 @@ public class DevToolsClient {
     public TargetInfo getTargetInfo(String targetId) {
         DevToolsPayload payload = sendAndWait(DevToolsMethod.TARGET_GET_TARGET_INFO, Map.of("targetId", targetId));
         if (payload.isResult()) {
-            return JacksonUtil.convertValue(payload.getResult(), TargetInfo.class);
+            return payload.getResultAs(TargetInfo.class);
         }
         return null;
     }
 
     public boolean activateTarget(String targetId) {
         DevToolsPayload payload = sendAndWait(DevToolsMethod.TARGET_ACTIVATE_TARGET, Map.of("targetId", targetId));
-        attachToTarget(targetId);
-        return payload.isResult();
+        return !payload.isError();
     }
     
     public String createTarget(String url, boolean newWindow) {
+        return createTarget(url, newWindow, null);
+    }
+
+    public String createTarget(String url, boolean newWindow, String browserContextId) {
         Map<String, Object> params = new HashMap<>();
         params.put("url", url);
         params.put("newWindow", newWindow);
+        if (browserContextId != null) {
+            params.put("browserContextId", browserContextId);
+        }
         DevToolsPayload payload = sendAndWait(DevToolsMethod.TARGET_CREATE_TARGET, params);
         if (payload.isResult()) {
-            return JacksonUtil.convertValue(payload.getResult(), TargetInfoProp.class).targetId();
+            return payload.getResultAs(TargetInfoProp.class).targetId();
+        }
+        return "";
+    }
+
+    public void closeTarget(String targetId) {
+        sendAsync(DevToolsMethod.TARGET_CLOSE_TARGET, Map.of("targetId", targetId));
+    }
+
+    public String createBrowserContext() {
+        DevToolsPayload payload = sendAndWait(DevToolsMethod.TARGET_CREATE_BROWSER_CONTEXT, 
+                                              Map.of("disposeOnDetach", true));
+        if (payload.isResult() && payload.getResult().get("browserContextId") instanceof String browserContextId) {
+            return browserContextId;
+        }
+        throw new WebDriverException("Couldn't create browser context!");
+    }
+
+    public void disposeBrowserContext(String browserContextId) {
+        sendAsync(DevToolsMethod.TARGET_DISPOSE_BROWSER_CONTEXT, Map.of("browserContextId", browserContextId));
+    }
+
+    public String attachToTarget(String targetId) {
+        DevToolsPayload payload = sendAndWait(DevToolsMethod.TARGET_ATTACH_TO_TARGET, Map.of("targetId", targetId, 
+                                                                                              "flatten", true));
+        if (payload.isResult()) {
+            Object attachedSessionId = payload.getResult().get("sessionId");
+            return attachedSessionId != null ? String.valueOf(attachedSessionId) : "";
         }
         return "";
     }
 
-    public boolean attachToTarget(String targetId) {
-        DevToolsPayload payload = sendAndWait(DevToolsMethod.TARGET_ATTACH_TO_TARGET, Map.of("targetId", targetId));
-        return payload.isResult();
+    public DevToolsClient createSession(String targetId) {
+        String attachedSessionId = attachToTarget(targetId);
+        if (attachedSessionId.isEmpty()) {
+            throw new WebDriverException("Couldn't attach to target " + targetId + "!");
+        }
+        return new DevToolsClient(connection, attachedSessionId, ucDriverOptions);
     }
     
     public void setAutoAttach() {
@@ -460,17 +746,16 @@ public class DevToolsClient {
     }
     
     public void resetContext() {
-        globalThisId = null;
-        rootNodeId = 0;
-        rootObjectId = null;
-        currentFrameId = null;
-        currentExecutionContextId = 0;
+        contexts.clear();
     }
     
     public int getRootNodeId() {
+        int rootNodeId = contexts.getRootNodeId();
         if (rootNodeId == 0) {
+            long generation = contexts.getGeneration();
             RootNode rootNode = getDocument();
             rootNodeId = rootNode != null ? rootNode.root().nodeId() : -1;
+            contexts.setRootNodeId(rootNodeId, generation);
         }
         return rootNodeId;
     }
@@ -478,15 +763,17 @@ public class DevToolsClient {
     public RootNode getDocument() {
         DevToolsPayload payload = sendAndWait(DevToolsMethod.DOM_GET_DOCUMENT, Map.of("pierce", true));
         if (payload.isResult()) {
-            return JacksonUtil.convertValue(payload.getResult(), RootNode.class);
+            return payload.getResultAs(RootNode.class);
         }
         return null;
     }
 
     public String getCurrentFrameId() {
+        String currentFrameId = contexts.getMainFrameId();
         if (currentFrameId == null) {
             FrameTree frameTree = getFrameTree();
             currentFrameId = frameTree != null ? frameTree.frameTree().frame().id() : "";
+            contexts.setMainFrameId(currentFrameId);
         }
         return currentFrameId;
     }
@@ -494,25 +781,35 @@ public class DevToolsClient {
     public FrameTree getFrameTree() {
         DevToolsPayload payload = sendAndWait(DevToolsMethod.PAGE_GET_FRAME_TREE);
         if (payload.isResult()) {
-            return JacksonUtil.convertValue(payload.getResult(), FrameTree.class);
+            return payload.getResultAs(FrameTree.class);
         }
         return null;
     }
     
     public int getCurrentExecutionContextId() {
-        if (currentExecutionContextId == 0) {
-            IsolateWorld isolateWorld = createIsolatedWorld(getCurrentFrameId());
-            if (isolateWorld != null) {
-                currentExecutionContextId = isolateWorld.executionContextId();
+        return getExecutionContextId(getCurrentFrameId());
+    }
+
+    public int getExecutionContextId(String frameId) {
+        Integer executionContextId = contexts.getIsolatedContextId(frameId);
+        for (int attempt = 0; executionContextId == null && attempt < 2; attempt++) {
+            long generation = contexts.getGeneration();
+            IsolateWorld isolateWorld = createIsolatedWorld(frameId);
+            if (isolateWorld == null || isolateWorld.executionContextId() == null) {
+                return 0;
+            }
+            if (contexts.putIsolatedContext(frameId, isolateWorld.executionContextId(), generation) || attempt == 1) {
+                executionContextId = isolateWorld.executionContextId();
             }
         }
-        return currentExecutionContextId;
+        return executionContextId;
     }
     
     public IsolateWorld createIsolatedWorld(String frameId) {
-        DevToolsPayload payload = sendAndWait(DevToolsMethod.PAGE_CREATE_ISOLATED_WORLD, Map.of("frameId", frameId));
+        DevToolsPayload payload = sendAndWait(DevToolsMethod.PAGE_CREATE_ISOLATED_WORLD, 
+                                              Map.of("frameId", frameId, "worldName", ContextRegistry.ISOLATED_WORLD_NAME));
         if (payload.isResult()) {
-            return JacksonUtil.convertValue(payload.getResult(), IsolateWorld.class);
+            return payload.getResultAs(IsolateWorld.class);
         }
         return null;
     }
@@ -520,16 +817,20 @@ public class DevToolsClient {
     public OuterHtml getOuterHtml(int nodeId) {
         DevToolsPayload payload = sendAndWait(DevToolsMethod.DOM_GET_OUTER_HTML, Map.of("nodeId", nodeId));
         if (payload.isResult()) {
-            return JacksonUtil.convertValue(payload.getResult(), OuterHtml.class);
+            return payload.getResultAs(OuterHtml.class);
         }
         return null;
     }
 
+    public PageSourceResult writeOuterHtml(OutputStream output, PageSourceOptions options) throws IOException {
+        return new PageSourceWriter(this).write(output, options != null ? options : PageSourceOptions.defaults());
+    }
+
     public ObjectNode resolveNode(int nodeId, int executionContextId) {
         Map<String, Object> params = Map.of("nodeId", nodeId, "executionContextId", executionContextId);
         DevToolsPayload payload = sendAndWait(DevToolsMethod.DOM_RESOLVE_NODE, params);
         if (payload.isResult()) {
-            return JacksonUtil.convertValue(payload.getResult(), ObjectNode.class);
+            return payload.getResultAs(ObjectNode.class);
         }
         return new ObjectNode(new ResolvedNode("", "", null, "", "", null, ""));
     }
@@ -537,16 +838,19 @@ public class DevToolsClient {
     public Integer requestNode(String objectId) {
         DevToolsPayload payload = sendAndWait(DevToolsMethod.DOM_REQUEST_NODE, Map.of("objectId", objectId));
         if (payload.isResult()) {
-            return JacksonUtil.convertValue(payload.getResult(), Node.class).nodeId();
+            return payload.getResultAs(Node.class).nodeId();
         }
         return -1;
     }
     
     public String getRootObjectId() {
+        String rootObjectId = contexts.getRootObjectId();
         if (rootObjectId == null) {
+            long generation = contexts.getGeneration();
             ObjectNode objectNode = resolveNode(getRootNodeId(), getCurrentExecutionContextId());
             if (objectNode != null) {
                 rootObjectId = objectNode.object().objectId();
+                contexts.setRootObjectId(rootObjectId, generation);
             }
         }
         return rootObjectId;
@@ -556,16 +860,19 @@ public class DevToolsClient {
         Map<String, Object> params = Map.of("expression", "globalThis", "serializationOptions", Map.of("serialization", "idOnly"));
         DevToolsPayload payload = sendAndWait(DevToolsMethod.RUNTIME_EVALUATE, params);
         if (payload.isResult()) {
-            return JacksonUtil.convertValue(payload.getResult(), ScriptNode.class);
+            return payload.getResultAs(ScriptNode.class);
         }
         return null;
     }
 
     public String getGlobalThisId() {
+        String globalThisId = contexts.getGlobalThisId();
         if (globalThisId == null) {
+            long generation = contexts.getGeneration();
             ScriptNode scriptNode = getGlobalThis();
             if (scriptNode != null) {
                 globalThisId = scriptNode.result().objectId();
+                contexts.setGlobalThisId(globalThisId, generation);
             }
         }
         return globalThisId;
@@ -615,7 +922,7 @@ public class DevToolsClient {
     public BoxModel getBoxModel(String objectId) {
         DevToolsPayload payload = sendAndWait(DevToolsMethod.DOM_GET_BOX_MODEL, Map.of("objectId", objectId));
         if (payload.isResult()) {
-            return JacksonUtil.convertValue(payload.getResult(), BoxModel.class);
+            return payload.getResultAs(BoxModel.class);
         }
         return null;
     }
@@ -623,7 +930,7 @@ public class DevToolsClient {
     public Map<String, Object> getAttributes(int nodeId) {
         DevToolsPayload payload = sendAndWait(DevToolsMethod.DOM_GET_ATTRIBUTES, Map.of("nodeId", nodeId));
         if (payload != null) {
-            return JacksonUtil.convertValue(payload.getResult(), Node.class).getAttributes();
+            return payload.getResultAs(Node.class).getAttributes();
         }
         return new HashMap<>();
     }
@@ -631,7 +938,7 @@ public class DevToolsClient {
     public List<CSSStyle> getCSSStyle(int nodeId) {
         DevToolsPayload payload = sendAndWait(DevToolsMethod.CCS_GET_COMPUTED_STYLE_FOR_NODE, Map.of("nodeId", nodeId));
         if (payload != null) {
-            return JacksonUtil.convertValue(payload.getResult(), ComputedStyle.class).computedStyle();
+            return payload.getResultAs(ComputedStyle.class).computedStyle();
         }
         return new ArrayList<>();
     }
@@ -640,62 +947,36 @@ public class DevToolsClient {
     public Integer getContainerForNode(int nodeId) {
         DevToolsPayload payload = sendAndWait(DevToolsMethod.DOM_GET_CONTAINER_FOR_NODE, Map.of("nodeId", nodeId));
         if (payload != null) {
-            return JacksonUtil.convertValue(payload.getResult(), Node.class).nodeId();
+            return payload.getResultAs(Node.class).nodeId();
         }
         return 1;
     }
     
     public void scrollGesture(int x, int y, Integer xDistance, Integer yDistance, Integer speed, Integer repeatCount) {
-        Map<String, Object> params = new HashMap<>();
-        params.put("x", x);
-        params.put("y", y);
-        if (xDistance != null) {
-            params.put("xDistance", xDistance);
-        }
-        if (yDistance != null) {
-            params.put("yDistance", yDistance);
-        }
-        if (speed != null) {
-            params.put("speed", speed);
-        }
-        if (repeatCount != null) {
-            params.put("repeatCount", repeatCount);
-            params.put("repeatDelayMs", 0);
-        }
-        sendAndWait(DevToolsMethod.INPUT_SYNTHESIZE_SCROLL_GESTURE, params);
+        batch().scrollGesture(x, y, xDistance, yDistance, speed, repeatCount).execute();
     }
 
     public void moveMouse(Point point) {
-        Map<String, Object> params = new HashMap<>();
-        params.put("type", "mouseMoved");
-        params.put("x", point.x());
-        params.put("y", point.y());
-        params.put("button", "left");
-        params.put("clickCount", 0);
-        sendAndWait(DevToolsMethod.INPUT_DISPATCH_MOUSE_EVENT, params);
+        batch().moveMouse(point).execute();
     }
 
     public void clickMouse(Point point) {
-        Map<String, Object> params = new HashMap<>();
-        params.put("type", "mousePressed");
-        params.put("x", point.x());
-        params.put("y", point.y());
-        params.put("button", "left");
-        params.put("clickCount", 1);
-        sendAndWait(DevToolsMethod.INPUT_DISPATCH_MOUSE_EVENT, params);
-
-        params.put("type", "mouseReleased");
-        sendAndWait(DevToolsMethod.INPUT_DISPATCH_MOUSE_EVENT, params);
+        batch().clickMouse(point).execute();
     }
 
     public void sendKey(char ch) {
-        Map<String, Object> params = new HashMap<>();
-        params.put("type", "keyDown");
-        params.put("text", ch);
-        sendAndWait(DevToolsMethod.INPUT_DISPATCH_KEY_EVENT, params);
+        batch().sendKey(ch).execute();
+    }
+
+    /**
+     * The session's mouse at the fidelity configured for the host of the current page.
+     */
+    public Mouse mouse() {
+        return mouse.withFidelity(ucDriverOptions.getMotionFidelity(lastUrl));
+    }
 
-        params.put("type", "keyUp");
-        sendAndWait(DevToolsMethod.INPUT_DISPATCH_KEY_EVENT, params);
+    public Keyboard keyboard() {
+        return new Keyboard(this, ucDriverOptions.getTypingMode());
     }
 
     public ScreenshotData getScreenshot() {
@@ -711,18 +992,90 @@ public class DevToolsClient {
     }
     
     public ScreenshotData getScreenshot(String format, ViewPort viewPort) {
+        ScreenshotFormat screenshotFormat = ScreenshotFormat.valueOf(format.toUpperCase());
+        return getScreenshot(ScreenshotOptions.builder().format(screenshotFormat).clip(viewPort).build());
+    }
+
+    public ScreenshotData getScreenshot(ScreenshotOptions options) {
+        return await(getScreenshotAsync(options));
+    }
+
+    public CompletableFuture<ScreenshotData> getScreenshotAsync(ScreenshotOptions options) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("format", options.getFormat().getFormat());
+        if (options.quality() != null && options.getFormat() != ScreenshotFormat.PNG) {
+            params.put("quality", options.quality());
+        }
+        if (options.clip() != null) {
+            params.put("clip", options.clip());
+        }
+        if (options.optimizeForSpeed()) {
+            params.put("optimizeForSpeed", true);
+        }
+        if (options.captureBeyondViewport()) {
+            params.put("captureBeyondViewport", true);
+        }
+        return sendAsync(DevToolsMethod.PAGE_CAPTURE_SCREENSHOT, params)
+                .thenApply(payload -> payload.isResult() ? payload.getResultAs(ScreenshotData.class) : null);
+    }
+
+    public Screencast startScreencast(ScreencastOptions options, Consumer<ScreencastFrame> consumer) {
+        return new Screencast(this, options, consumer);
+    }
+
+    public InputStream printToPdf(Map<String, Object> options) {
         Map<String, Object> params = new HashMap<>();
-        params.put("format", format);
-        if (viewPort != null) {
-            params.put("clip", viewPort);
+        if (options != null) {
+            params.putAll(options);
         }
-        DevToolsPayload payload = sendAndWait(DevToolsMethod.PAGE_CAPTURE_SCREENSHOT, params);
+        params.put("transferMode", "ReturnAsStream");
+        DevToolsPayload payload = sendAndWait(DevToolsMethod.PAGE_PRINT_TO_PDF, params);
         if (payload.isResult()) {
-            return JacksonUtil.convertValue(payload.getResult(), ScreenshotData.class);
+            StreamHandle streamHandle = payload.getResultAs(StreamHandle.class);
+            if (streamHandle.stream() != null) {
+                return new DevToolsStream(this, streamHandle.stream());
+            }
+        }
+        throw new WebDriverException("Couldn't print page to PDF!");
+    }
+
+    public StreamChunk readStream(String handle, int size) {
+        DevToolsPayload payload = sendAndWait(DevToolsMethod.IO_READ, Map.of("handle", handle, "size", size));
+        if (payload.isResult()) {
+            return payload.getResultAs(StreamChunk.class);
         }
         return null;
     }
 
+    public void closeStream(String handle) {
+        if (isOpen()) {
+            sendAsync(DevToolsMethod.IO_CLOSE, Map.of("handle", handle));
+        }
+    }
+
+    public List<String> getArrayItemIds(String arrayObjectId) {
+        List<String> objectIds = new ArrayList<>();
+        DevToolsPayload payload = sendAndWait(DevToolsMethod.RUNTIME_GET_PROPERTIES, 
+                                              Map.of("objectId", arrayObjectId, "ownProperties", true));
+        if (payload.isResult()) {
+            ObjectProperties properties = payload.getResultAs(ObjectProperties.class);
+            if (properties != null && properties.result() != null) {
+                properties.result().stream()
+                          .filter(property -> property.getIndex() >= 0 && property.value() != null
+                                  && property.value().objectId() != null)
+                          .sorted(Comparator.comparingInt(PropertyDescriptor::getIndex))
+                          .forEach(property -> objectIds.add(property.value().objectId()));
+            }
+        }
+        return objectIds;
+    }
+
+    public void releaseObject(String objectId) {
+        if (objectId != null) {
+            sendAsync(DevToolsMethod.RUNTIME_RELEASE_OBJECT, Map.of("objectId", objectId));
+        }
+    }
+
     public ScriptNode executeAsyncScript(String script, int executionContextId, Map<String, Object> arguments) {
         String format = """
                     (function(...arguments) {
@@ -787,6 +1140,82 @@ public class DevToolsClient {
         return callFunctionOn(script, executionContextId, false, serialization, args.toArray());
     }
 
+    public FunctionRegistry getFunctions() {
+        return functions;
+    }
+
+    public ScriptNode callFunction(String objectId, String name, String serialization, Object... values) {
+        return await(callFunctionAsync(objectId, name, serialization, values));
+    }
+
+    public CompletableFuture<ScriptNode> callFunctionAsync(String objectId, String name, String serialization,
+                                                           Object... values) {
+        int executionContextId = ResolvedNode.getExecutionContextId(objectId);
+        String invoker = functions.getInvoker(name);
+        return installFunctions(executionContextId)
+                .thenCompose(ignored -> sendCallFunctionOn(objectId, invoker, serialization, values))
+                .thenCompose(payload -> {
+                    if (executionContextId < 0 || !functions.isNotInstalledError(getExceptionDescription(payload))) {
+                        return CompletableFuture.completedFuture(payload);
+                    }
+                    // the context lost the namespace although it was marked installed, so install it once more
+                    functions.forget(executionContextId);
+                    return installFunctions(executionContextId)
+                            .thenCompose(ignored -> sendCallFunctionOn(objectId, invoker, serialization, values));
+                })
+                .thenApply(DevToolsClient::toScriptNode);
+    }
+
+    private CompletableFuture<Void> installFunctions(int executionContextId) {
+        if (executionContextId < 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        functions.retain(contexts::isIsolatedContext);
+        return functions.install(executionContextId, script -> sendAsync(DevToolsMethod.RUNTIME_EVALUATE, Map.of(
+                "expression", script,
+                "contextId", executionContextId,
+                "silent", true
+        )).thenApply(payload -> !payload.isError() && !payload.hasExceptionDetails()));
+    }
+
+    private static String getExceptionDescription(DevToolsPayload payload) {
+        if (!payload.hasExceptionDetails()
+                || !(payload.getResult().get("exceptionDetails") instanceof Map<?, ?> details)
+                || !(details.get("exception") instanceof Map<?, ?> exception)) {
+            return null;
+        }
+        return Objects.toString(exception.get("description"), null);
+    }
+
+    public ScriptNode callFunctionOnObject(String objectId, String functionDeclaration, String serialization, 
+                                           Object... values) {
+        return await(callFunctionOnObjectAsync(objectId, functionDeclaration, serialization, values));
+    }
+
+    public CompletableFuture<ScriptNode> callFunctionOnObjectAsync(String objectId, String functionDeclaration,
+                                                                   String serialization, Object... values) {
+        return sendCallFunctionOn(objectId, functionDeclaration, serialization, values)
+                .thenApply(DevToolsClient::toScriptNode);
+    }
+
+    private CompletableFuture<DevToolsPayload> sendCallFunctionOn(String objectId, String functionDeclaration,
+                                                                  String serialization, Object... values) {
+        List<Map<String, Object>> args = new ArrayList<>();
+        for (Object value : values) {
+            args.add(Collections.singletonMap("value", value));
+        }
+        return sendAsync(DevToolsMethod.RUNTIME_CALL_FUNCTION_ON, Map.of(
+                "objectId", objectId,
+                "functionDeclaration", functionDeclaration,
+                "arguments", args,
+                "serializationOptions", Map.of("serialization", serialization)
+        ));
+    }
+
+    private static ScriptNode toScriptNode(DevToolsPayload payload) {
+        return payload.isResult() ? payload.getResultAs(ScriptNode.class) : null;
+    }
+
     public ScriptNode callFunctionOn(String script, int executionContextId, boolean awaitPromise, Object... args) {
         return callFunctionOn(script, executionContextId, awaitPromise, "deep", args);
     }
@@ -803,7 +1232,7 @@ public class DevToolsClient {
                                                          Map.of("includeShadowTree", "all", "maxNodeDepth", 2)))
         ));
         if (payload.isResult()) {
-            return JacksonUtil.convertValue(payload.getResult(), ScriptNode.class);
+            return payload.getResultAs(ScriptNode.class);
         }
         return null;
     }
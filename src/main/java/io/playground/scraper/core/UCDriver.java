@@ -1,17 +1,26 @@
 package io.playground.scraper.core;
 
 import io.playground.scraper.constant.Constant;
+import io.playground.scraper.core.locator.CompiledLocator;
+import io.playground.scraper.core.locator.LocatorCompiler;
 import io.playground.scraper.core.side.UCNavigation;
+import io.playground.scraper.core.snapshot.DomSnapshot;
 import io.playground.scraper.core.side.UCOptions;
 import io.playground.scraper.core.side.UCTargetLocator;
 import io.playground.scraper.model.response.ResolvedNode;
 import io.playground.scraper.model.response.ScriptNode;
+import io.playground.scraper.model.response.heap.HeapUsage;
 import io.playground.scraper.model.response.html.OuterHtml;
+import io.playground.scraper.model.response.html.PageSourceOptions;
+import io.playground.scraper.model.response.html.PageSourceResult;
 import io.playground.scraper.model.response.screenshot.ScreenshotData;
+import io.playground.scraper.model.response.screenshot.ScreenshotFormat;
+import io.playground.scraper.model.response.screenshot.ScreenshotOptions;
 import io.playground.scraper.model.response.screenshot.ViewPort;
 import io.playground.scraper.model.response.target.TargetInfo;
 import io.playground.scraper.model.response.target.TargetInfoProp;
 import io.playground.scraper.model.response.target.TargetInfos;
+import io.playground.scraper.util.Base64Util;
 import io.playground.scraper.util.SleepUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.NoSuchElementException;
@@ -23,19 +32,38 @@ import org.openqa.selenium.remote.*;
 import org.openqa.selenium.virtualauthenticator.VirtualAuthenticator;
 import org.openqa.selenium.virtualauthenticator.VirtualAuthenticatorOptions;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.BiFunction;
 import java.util.logging.Level;
 
 @Slf4j
 public class UCDriver extends RemoteWebDriver {
     
+    private static final ExecutorService fileWriter = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("screenshot-writer-", 0).factory());
+
     private final UCDriverOptions ucDriverOptions;
-    private final DevToolsClient client;
+    private volatile DevToolsClient browserClient;
+    private final Map<String, DevToolsClient> sessions = new ConcurrentHashMap<>();
+    private final boolean ownsBrowser;
+    private final String browserContextId;
+    private volatile DevToolsClient client;
     private Capabilities capabilities;
 
     public UCDriver() {
@@ -47,12 +75,60 @@ public class UCDriver extends RemoteWebDriver {
         ucDriverOptions = ucDriverOptions == null ? UCDriverOptions.builder().build() : ucDriverOptions;
         this.ucDriverOptions = ucDriverOptions ;
         ucDriverOptions.startBinary();
-        this.client = new DevToolsClient(ucDriverOptions.getDevToolNewTabUrl(), ucDriverOptions);
-        this.client.enablePage();
+        this.browserClient = new DevToolsClient(ucDriverOptions.getDevToolBrowserUrl(), ucDriverOptions);
+        this.ownsBrowser = true;
+        this.browserContextId = null;
+        this.client = attachToWindow(findNewTabTargetId());
+        applyTimeZone();
+    }
+
+    private UCDriver(UCDriver browser, String browserContextId) {
+        this.ucDriverOptions = browser.ucDriverOptions;
+        this.browserClient = browser.browserClient;
+        this.ownsBrowser = false;
+        this.browserContextId = browserContextId;
+        String targetId = browserClient.createTarget("about:blank", false, browserContextId);
+        if (targetId.isEmpty()) {
+            throw new WebDriverException("Couldn't create a new tab!");
+        }
+        this.client = attachToWindow(targetId);
+        applyTimeZone();
+    }
+
+    private void applyTimeZone() {
         if (ucDriverOptions.getProxyIP() != null) {
             this.client.emulationSetTimeZoneOverride(ucDriverOptions.getTimeZoneOfIpAddress(ucDriverOptions.getProxyIP()));
         }
     }
+
+    /**
+     * Opens a tab in this driver's browser and returns a driver bound to it. The tab has its own page session and
+     * context caches but shares the Chrome process and the browser connection; quitting it only closes its tabs.
+     * With {@code isolated} the tab lives in a fresh browser context, so it doesn't share cookies or storage.
+     */
+    public UCDriver newTab(boolean isolated) {
+        String contextId = isolated ? browserClient.createBrowserContext() : null;
+        try {
+            return new UCDriver(this, contextId);
+        } catch (RuntimeException e) {
+            if (contextId != null) {
+                browserClient.disposeBrowserContext(contextId);
+            }
+            throw e;
+        }
+    }
+
+    public boolean ownsBrowser() {
+        return ownsBrowser;
+    }
+
+    public String getBrowserContextId() {
+        return browserContextId;
+    }
+
+    public CompletableFuture<Process> onBrowserExit() {
+        return ucDriverOptions.onBinaryExit();
+    }
     
     public DevToolsClient getClient() {
         if (client != null && client.isOpen()) {
@@ -62,6 +138,52 @@ public class UCDriver extends RemoteWebDriver {
         }
     }
 
+    public DevToolsClient getBrowserClient() {
+        return browserClient;
+    }
+
+    public void switchToWindow(String targetId) {
+        DevToolsClient session = attachToWindow(targetId);
+        browserClient.activateTarget(targetId);
+        client = session;
+    }
+
+    private DevToolsClient attachToWindow(String targetId) {
+        DevToolsClient session = sessions.get(targetId);
+        if (session == null || !session.isOpen()) {
+            session = browserClient.createSession(targetId);
+            session.enablePage();
+            session.enableInspector();
+            session.enableNetworkTracking();
+            if (ucDriverOptions.isTrackExecutionContexts()) {
+                session.enableRuntime();
+            }
+            sessions.put(targetId, session);
+        }
+        return session;
+    }
+
+    private String findNewTabTargetId() {
+        TargetInfos targetInfos = browserClient.getTargets();
+        if (targetInfos != null) {
+            TargetInfoProp firstPage = null;
+            for (TargetInfoProp targetInfo : targetInfos.targetInfos()) {
+                if (targetInfo.type().equals("page")) {
+                    if (targetInfo.url().toLowerCase().contains(UCDriverOptions.DEFAULT_NEW_TAB_URL)) {
+                        return targetInfo.targetId();
+                    }
+                    if (firstPage == null) {
+                        firstPage = targetInfo;
+                    }
+                }
+            }
+            if (firstPage != null) {
+                return firstPage.targetId();
+            }
+        }
+        return browserClient.createTarget(UCDriverOptions.DEFAULT_NEW_TAB_URL, false);
+    }
+
     @Override
     public void get(String url) {
         if (!url.isEmpty() && url.charAt(url.length() - 1) != '/') {
@@ -92,19 +214,46 @@ public class UCDriver extends RemoteWebDriver {
     }
 
     public Path saveScreenshot(String title) {
-        return saveScreenshot(title, null);
+        return saveScreenshot(title, (ViewPort) null);
     }
     
     public Path saveScreenshot(String title, ViewPort viewPort) {
+        return saveScreenshot(title, ScreenshotOptions.builder().clip(viewPort).build());
+    }
+
+    public Path saveScreenshot(String title, ScreenshotOptions options) {
         try {
-            Files.createDirectories(Path.of(Constant.SCREENSHOT_FOLDER_PATH));
-            File destination = new File(Constant.SCREENSHOT_FOLDER_PATH + title + "-" + UUID.randomUUID() + ".png");
-            return Files.write(destination.toPath(), getScreenshotAs(OutputType.BYTES, viewPort));
+            return saveScreenshotAsync(title, options).join();
         } catch (Exception ignored) {
         }
         return null;
     }
 
+    public CompletableFuture<Path> saveScreenshotAsync(String title, ScreenshotOptions options) {
+        return saveScreenshotAsync(title, getClient().getScreenshotAsync(options), options.getFormat());
+    }
+
+    CompletableFuture<Path> saveScreenshotAsync(String title, CompletableFuture<ScreenshotData> screenshot,
+                                                ScreenshotFormat format) {
+        return screenshot.thenApplyAsync(result -> {
+            if (result == null || result.data() == null) {
+                throw new WebDriverException("Unexpected result for " + DriverCommand.SCREENSHOT + " command: null");
+            }
+            try {
+                Files.createDirectories(Path.of(Constant.SCREENSHOT_FOLDER_PATH));
+                Path destination = Path.of(Constant.SCREENSHOT_FOLDER_PATH + title + "-" + UUID.randomUUID() 
+                                                   + format.getExtension());
+                try (FileChannel channel = FileChannel.open(destination, StandardOpenOption.CREATE_NEW, 
+                                                            StandardOpenOption.WRITE)) {
+                    Base64Util.decodeTo(result.data(), channel);
+                }
+                return destination;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, fileWriter);
+    }
+
     @Override
     public <X> X getScreenshotAs(OutputType<X> outputType) throws WebDriverException {
         return getScreenshotAs(outputType, null);
@@ -177,75 +326,48 @@ public class UCDriver extends RemoteWebDriver {
     }
     
     public List<WebElement> findElements(By by, String objectId, Integer targetIndex) {
-        List<WebElement> elements = new ArrayList<>();
-        String script = "";
-        String value = by.toString().split(": ")[1];
-        boolean useXpath = false;
-        if (by.toString() != null) {
-            if (by.toString().contains("By.id")) {
-                useXpath = true;
-                value = "//*[@id=\"" + value + "\"]";
-            } else if (by.toString().contains("By.className")) {
-                useXpath = true;
-                value = "//*[@class=\"" + value + "\"]";
-            } else if (by.toString().contains("By.name")) {
-                useXpath = true;
-                value = "//*[@name=\"" + value + "\"]";
-            }
-
-            if (by.toString().contains("By.tagName")) {
-                script = "return obj.getElementsByTagName(arguments[0])";
-            } else if (by.toString().contains("By.cssSelector")) {
-                script = "return obj.querySelectorAll(arguments[0])";
-            } else if (by.toString().contains("By.xpath") || useXpath) {
-                script = "return document.evaluate(arguments[0],obj,null,XPathResult.ORDERED_NODE_SNAPSHOT_TYPE,null)";
+        CompiledLocator locator = LocatorCompiler.compile(by);
+        if (locator == null) {
+            if (by instanceof By.Remotable remotable) {
+                throw new InvalidSelectorException("Unsupported locator strategy '" 
+                                                           + remotable.getRemoteParameters().using() + "' of " + by);
             }
+            SearchContext context = objectId.equals(getClient().getRootObjectId()) ? this : new UCElement(this, objectId);
+            List<WebElement> elements = by.findElements(context);
+            return targetIndex == null || elements.size() <= targetIndex + 1 
+                    ? elements : elements.subList(0, targetIndex + 1);
         }
 
-        if (script.isEmpty()) {
+        List<WebElement> elements = new ArrayList<>();
+        if (targetIndex != null && targetIndex == 0) {
+            ScriptNode scriptNode = getClient().callFunction(objectId, locator.strategy().getFirstMatchName(), "idOnly",
+                                                             locator.value());
+            if (scriptNode != null && scriptNode.result().objectId() != null) {
+                elements.add(new UCElement(this, scriptNode.result().objectId()));
+            }
             return elements;
         }
 
-        ScriptNode scriptNode = getClient().executeScript(script, objectId, Map.of("value", value));
-        if (scriptNode == null) {
+        int limit = targetIndex == null ? -1 : targetIndex + 1;
+        ScriptNode scriptNode = getClient().callFunction(objectId, locator.strategy().getAllMatchesName(), "idOnly",
+                                                         locator.value(), limit);
+        if (scriptNode == null || scriptNode.result().objectId() == null) {
             return elements;
         }
-        String parentObjectId = scriptNode.result().objectId();
-        if (scriptNode.result().className() != null && scriptNode.result().className().equals("XPathResult")) {
-            ScriptNode checkType = getClient().executeScript("return obj.resultType == 7", parentObjectId,
-                                                             "json");
-            if (checkType != null && checkType.result().getValueAsBoolean()) {
-                ScriptNode lengthNode = getClient().executeScript("return obj.snapshotLength", parentObjectId,
-                                                                  "json");
-                if (lengthNode != null && lengthNode.result().getValueAsInteger() > 0) {
-                    int length = lengthNode.result().getValueAsInteger();
-                    elements = findElements("return obj.snapshotItem(arguments[0])", parentObjectId, length, targetIndex);
-                }
-            }
-        } else if (scriptNode.result().className() != null
-                && (scriptNode.result().className().equals("NodeList") || scriptNode.result().className().equals("HTMLCollection"))) {
-            int nodeListSize = scriptNode.result().getListSize();
-            elements = findElements("return obj[arguments[0]]", parentObjectId, nodeListSize, targetIndex);
+        String arrayObjectId = scriptNode.result().objectId();
+        for (String elementObjectId : getClient().getArrayItemIds(arrayObjectId)) {
+            elements.add(new UCElement(this, elementObjectId));
         }
-
+        getClient().releaseObject(arrayObjectId);
         return elements;
     }
-    
-    private List<WebElement> findElements(String script, String parentObjectId, int length, Integer targetIndex) {
-        List<WebElement> elements = new ArrayList<>();
-        for (int i = 0; i < length; i++) {
-            ScriptNode scriptNode = getClient().executeScript(script, parentObjectId, Map.of("value", i));
-            if (scriptNode != null) {
-                String elementObjectId = scriptNode.result().objectId();
-                UCElement element = new UCElement(this, elementObjectId);
-                elements.add(element);
-            }
 
-            if (targetIndex != null && targetIndex == i) {
-                return elements;
-            }
+    public DomSnapshot captureSnapshot(String... computedStyles) {
+        DomSnapshot snapshot = getClient().captureSnapshot(List.of(computedStyles));
+        if (snapshot == null) {
+            throw new WebDriverException("Failed to capture DOM snapshot!");
         }
-        return elements;
+        return snapshot;
     }
 
     @Override
@@ -258,15 +380,151 @@ public class UCDriver extends RemoteWebDriver {
         return "";
     }
 
+    public PageSourceResult writePageSource(OutputStream output, PageSourceOptions options) {
+        try {
+            return getClient().writeOuterHtml(output, options);
+        } catch (IOException e) {
+            throw new WebDriverException(e);
+        }
+    }
+
+    public PageSourceResult writePageSource(Path destination, PageSourceOptions options) {
+        try {
+            Path parent = destination.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(destination), 64 * 1024)) {
+                return writePageSource(output, options);
+            }
+        } catch (IOException e) {
+            throw new WebDriverException(e);
+        }
+    }
+
+    public boolean isHealthy() {
+        return ucDriverOptions.isBinaryAlive() && browserClient.ping(Duration.ofSeconds(5))
+                && client != null && client.isOpen();
+    }
+
+    public boolean isCrashed() {
+        DevToolsClient current = client;
+        return (ownsBrowser && !ucDriverOptions.isBinaryAlive()) || !browserClient.isOpen() 
+                || current == null || current.isCrashed() || !current.isOpen();
+    }
+
+    /**
+     * Replaces what crashed with a working page and brings it back to where it was: a crashed renderer gets a new tab
+     * in the same browser context, a dead browser is restarted on the same profile. Afterwards {@code cookies} are
+     * restored if the browser was restarted and the page navigates to the last url the crashed one had loaded. A tab
+     * opened with {@link #newTab(boolean)} can only replace its renderer, the owning driver has to restart the browser.
+     */
+    public synchronized void recover(List<Map<String, Object>> cookies) {
+        DevToolsClient crashed = client;
+        String url = crashed != null ? crashed.getLastUrl() : null;
+        boolean browserGone = !browserClient.isOpen() || (ownsBrowser && !ucDriverOptions.isBinaryAlive());
+        if (browserGone) {
+            if (!ownsBrowser) {
+                throw new WebDriverException("Browser of this tab is gone, it has to be recovered by the driver owning it!");
+            }
+            log.warn("Browser is gone, restarting it");
+            sessions.clear();
+            browserClient.quit();
+            ucDriverOptions.stopBinary();
+            ucDriverOptions.startBinary();
+            browserClient = new DevToolsClient(ucDriverOptions.getDevToolBrowserUrl(), ucDriverOptions);
+            client = attachToWindow(findNewTabTargetId());
+        } else {
+            String crashedTargetId = null;
+            for (Map.Entry<String, DevToolsClient> session : sessions.entrySet()) {
+                if (session.getValue() == crashed) {
+                    crashedTargetId = session.getKey();
+                }
+            }
+            log.warn("Tab {} crashed, replacing it", crashedTargetId);
+            if (crashedTargetId != null) {
+                sessions.remove(crashedTargetId);
+                crashed.quit();
+                browserClient.closeTarget(crashedTargetId);
+            }
+            String targetId = browserClient.createTarget("about:blank", false, browserContextId);
+            if (targetId.isEmpty()) {
+                throw new WebDriverException("Couldn't create a new tab!");
+            }
+            client = attachToWindow(targetId);
+        }
+        applyTimeZone();
+        if (browserGone) {
+            browserClient.setAllCookies(cookies, browserContextId);
+        }
+        if (url != null) {
+            client.navigate(url);
+        }
+    }
+
+    public HeapUsage getHeapUsage() {
+        return getClient().getHeapUsage();
+    }
+
+    /**
+     * Brings the browser back to a blank state: closes every other tab, dismisses an open dialog, navigates to
+     * about:blank and clears cookies, cache and the storage of every origin visited since the last reset. A tab opened
+     * with {@link #newTab(boolean)} only closes its own popups and keeps the browsing data it shares with other tabs.
+     */
+    public void reset() {
+        DevToolsClient current = getClient();
+        String currentTargetId = current.getCurrentFrameId();
+        Set<String> origins = new HashSet<>(current.drainVisitedOrigins());
+        for (Map.Entry<String, DevToolsClient> session : sessions.entrySet()) {
+            if (!session.getKey().equals(currentTargetId)) {
+                origins.addAll(session.getValue().drainVisitedOrigins());
+            }
+        }
+        for (String handle : getWindowHandles()) {
+            if (!handle.equals(currentTargetId)) {
+                DevToolsClient session = sessions.remove(handle);
+                if (session != null) {
+                    session.quit();
+                }
+                browserClient.closeTarget(handle);
+            }
+        }
+        if (current.isDialogOpen()) {
+            current.handleJavaScriptDialog(false);
+        }
+        current.navigate("about:blank");
+        if (ownsBrowser) {
+            current.clearBrowsingData(origins);
+        }
+        current.resetContext();
+    }
+
     @Override
     public void close() {
-        getClient().close();
+        DevToolsClient current = getClient();
+        sessions.values().remove(current);
+        current.close();
+        current.quit();
     }
 
     @Override
     public void quit() {
-        if (client != null && client.isOpen()) {
-            client.quit();
+        if (!ownsBrowser) {
+            for (Map.Entry<String, DevToolsClient> session : sessions.entrySet()) {
+                session.getValue().quit();
+                if (browserClient.isOpen()) {
+                    browserClient.closeTarget(session.getKey());
+                }
+            }
+            sessions.clear();
+            if (browserContextId != null && browserClient.isOpen()) {
+                browserClient.disposeBrowserContext(browserContextId);
+            }
+            return;
+        }
+        sessions.clear();
+        if (browserClient != null && browserClient.isOpen()) {
+            browserClient.quit();
         }
         ucDriverOptions.stopBinary();
         ucDriverOptions.deleteTempProfile();
@@ -278,7 +536,7 @@ public class UCDriver extends RemoteWebDriver {
         TargetInfos targetInfos = getClient().getTargets();
         if (targetInfos != null && !targetInfos.targetInfos().isEmpty()) {
             for (TargetInfoProp targetInfo : targetInfos.targetInfos()) {
-                if (targetInfo.type().equals("page")) {
+                if (targetInfo.type().equals("page") && isOwnTarget(targetInfo)) {
                     handles.add(targetInfo.targetId());
                 }
             }
@@ -286,6 +544,17 @@ public class UCDriver extends RemoteWebDriver {
         return handles;
     }
 
+    private boolean isOwnTarget(TargetInfoProp targetInfo) {
+        if (ownsBrowser) {
+            return true;
+        }
+        if (browserContextId != null) {
+            return browserContextId.equals(targetInfo.browserContextId());
+        }
+        return sessions.containsKey(targetInfo.targetId()) 
+                || targetInfo.openerId() != null && sessions.containsKey(targetInfo.openerId());
+    }
+
     @Override
     public String getWindowHandle() {
         return getClient().getCurrentFrameId();
@@ -400,7 +669,46 @@ public class UCDriver extends RemoteWebDriver {
 
     @Override
     public Pdf print(PrintOptions printOptions) throws WebDriverException {
-        throw new UnsupportedOperationException();
+        try (InputStream pdf = getClient().printToPdf(toPrintParams(printOptions))) {
+            return new Pdf(Base64.getEncoder().encodeToString(pdf.readAllBytes()));
+        } catch (IOException e) {
+            throw new WebDriverException(e);
+        }
+    }
+
+    public Path printToFile(PrintOptions printOptions, Path destination) {
+        try (InputStream pdf = getClient().printToPdf(toPrintParams(printOptions))) {
+            Path parent = destination.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.copy(pdf, destination, StandardCopyOption.REPLACE_EXISTING);
+            return destination;
+        } catch (IOException e) {
+            throw new WebDriverException(e);
+        }
+    }
+
+    private Map<String, Object> toPrintParams(PrintOptions printOptions) {
+        Map<String, Object> params = new HashMap<>();
+        if (printOptions == null) {
+            return params;
+        }
+        double cmPerInch = 2.54;
+        params.put("landscape", printOptions.getOrientation() == PrintOptions.Orientation.LANDSCAPE);
+        params.put("printBackground", printOptions.getBackground());
+        params.put("scale", printOptions.getScale());
+        params.put("preferCSSPageSize", !printOptions.getShrinkToFit());
+        params.put("paperWidth", printOptions.getPageSize().getWidth() / cmPerInch);
+        params.put("paperHeight", printOptions.getPageSize().getHeight() / cmPerInch);
+        params.put("marginTop", printOptions.getPageMargin().getTop() / cmPerInch);
+        params.put("marginBottom", printOptions.getPageMargin().getBottom() / cmPerInch);
+        params.put("marginLeft", printOptions.getPageMargin().getLeft() / cmPerInch);
+        params.put("marginRight", printOptions.getPageMargin().getRight() / cmPerInch);
+        if (printOptions.getPageRanges().length > 0) {
+            params.put("pageRanges", String.join(",", printOptions.getPageRanges()));
+        }
+        return params;
     }
 
     @Override
@@ -2,6 +2,8 @@ package io.playground.scraper.core;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import io.playground.scraper.constant.Constant;
+import io.playground.scraper.core.input.MotionFidelity;
+import io.playground.scraper.core.input.TypingMode;
 import io.playground.scraper.model.chromedevtools.BrowserInfo;
 import io.playground.scraper.model.chromedevtools.PageInfo;
 import io.playground.scraper.model.geolocation.IPApiResponse;
@@ -10,14 +12,14 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.text.StringEscapeUtils;
-import org.awaitility.Awaitility;
-import org.awaitility.core.ConditionFactory;
 import org.cef.OS;
 import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.net.PortProber;
 import org.openqa.selenium.remote.service.DriverFinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
@@ -27,10 +29,13 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
-import java.nio.file.attribute.BasicFileAttributes;
-import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Builder(toBuilder = true)
@@ -38,19 +43,17 @@ public class UCDriverOptions {
 
     public static final String DEFAULT_NEW_TAB_URL = "chrome://newtab/";
     public static final String DEFAULT_PROXY_SERVER = "direct://";
-    public static final int DEFAULT_PORT = 9222;
-    private static final int DEFAULT_EVENT_TIMEOUT_IN_MS = 3000;
+    private static final int STARTUP_TIMEOUT_IN_MS = 30000;
+    private static final Pattern DEVTOOLS_LISTENING_PATTERN = Pattern.compile("DevTools listening on (ws://\\S+)");
 
+    private static final Logger chromeLog = LoggerFactory.getLogger("chrome");
     private static final Random random = new Random();
     private static final HttpClient httpClient = HttpClient.newHttpClient();
-    private static final ConditionFactory await = Awaitility.waitAtMost(Duration.ofMillis(DEFAULT_EVENT_TIMEOUT_IN_MS))
-                                                            .pollDelay(Duration.ZERO)
-                                                            .ignoreExceptions();
     @Builder.Default
     private String host = "127.0.0.1";
 
     @Builder.Default
-    private int port = PortUtil.isPortFree(DEFAULT_PORT) ? DEFAULT_PORT : PortProber.findFreePort();;
+    private int port = 0;
 
     @Builder.Default
     private List<String> optionArguments = new ArrayList<>();
@@ -63,6 +66,42 @@ public class UCDriverOptions {
     @Builder.Default
     private boolean fakeUserAgent = false;
 
+    @Getter
+    @Builder.Default
+    private boolean trackExecutionContexts = false;
+
+    @Getter
+    @Builder.Default
+    private TypingMode typingMode = TypingMode.KEY_EVENTS;
+
+    @Getter
+    @Builder.Default
+    private MotionFidelity motionFidelity = MotionFidelity.HUMAN_LIKE;
+
+    /**
+     * Fidelity per host, overriding {@link #motionFidelity} on pages of that host or its subdomains, e.g. NONE for
+     * sites without bot detection where trajectories only add click latency.
+     */
+    @Getter
+    @Builder.Default
+    private Map<String, MotionFidelity> motionFidelityByHost = new HashMap<>();
+
+    @Getter
+    @Builder.Default
+    private int networkQuietWindowInMs = 500;
+
+    @Getter
+    @Builder.Default
+    private int networkIdleMaxInflightRequests = 0;
+
+    @Getter
+    @Builder.Default
+    private int pageStabilityTimeoutInMs = 10000;
+
+    @Getter
+    @Builder.Default
+    private String profileRootPath = Constant.TEMP_PROFILE_FOLDER_PATH;
+
     @Getter
     @Builder.Default
     private String proxyServer = DEFAULT_PROXY_SERVER;
@@ -82,6 +121,8 @@ public class UCDriverOptions {
     private String proxyPassword = "";
     
     private Process process;
+
+    private String browserWebSocketUrl;
     
     private Path tempProfileFolderPath;
     
@@ -99,6 +140,50 @@ public class UCDriverOptions {
         return builder();
     }
 
+    /**
+     * Returns unstarted options with the same settings, a debugging port chosen by Chrome and no profile yet. Custom option
+     * arguments are copied as they are, so they must not pin a port or a profile folder.
+     */
+    public UCDriverOptions copy() {
+        boolean customArguments = optionArguments != null && !optionArguments.isEmpty() && process == null;
+        return toBuilder().port(0)
+                          .optionArguments(customArguments ? new ArrayList<>(optionArguments) : new ArrayList<>())
+                          .process(null)
+                          .browserWebSocketUrl(null)
+                          .tempProfileFolderPath(null)
+                          .build();
+    }
+
+    public boolean isBinaryAlive() {
+        return process != null && process.isAlive();
+    }
+
+    public MotionFidelity getMotionFidelity(String url) {
+        if (url == null || motionFidelityByHost.isEmpty()) {
+            return motionFidelity;
+        }
+        String host;
+        try {
+            host = new URI(url).getHost();
+        } catch (URISyntaxException e) {
+            return motionFidelity;
+        }
+        while (host != null) {
+            MotionFidelity fidelity = motionFidelityByHost.get(host);
+            if (fidelity != null) {
+                return fidelity;
+            }
+            int dot = host.indexOf('.');
+            host = dot > 0 ? host.substring(dot + 1) : null;
+        }
+        return motionFidelity;
+    }
+
+    public CompletableFuture<Process> onBinaryExit() {
+        Process current = process;
+        return current != null ? current.onExit() : CompletableFuture.completedFuture(null);
+    }
+
     public String getDebuggerUrl() {
         return host + ":" + port;
     }
@@ -123,24 +208,57 @@ public class UCDriverOptions {
             stopBinary(process);
         }
         List<String> command = new ArrayList<>();
-        if (OSUtil.isWindows()) {
-            command.add("cmd");
-            command.add("/c");
-        } else {
-            command.add("sh");
-            command.add("-c");
-        }
         command.add(getChromeLocation().toString());
         command.addAll(arguments);
-        ProcessBuilder processBuilder = new ProcessBuilder();
-        processBuilder.inheritIO().command(command);
+        ProcessBuilder processBuilder = new ProcessBuilder(command)
+                .redirectInput(ProcessBuilder.Redirect.INHERIT)
+                .redirectOutput(ProcessBuilder.Redirect.INHERIT);
 
         try {
             log.info(String.join(" ", command));
             Runtime.getRuntime().addShutdownHook(new Thread(() -> stopBinary(process)));
             process = processBuilder.start();
-            await.until(this::isDevToolsReachable);
-        } catch (IOException e) {
+            browserWebSocketUrl = awaitDevToolsEndpoint(process);
+            URI endpoint = new URI(browserWebSocketUrl);
+            host = endpoint.getHost();
+            port = endpoint.getPort();
+        } catch (IOException | URISyntaxException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Chrome prints its browser websocket endpoint to stderr as soon as DevTools is listening, which also reveals the
+     * port it picked for --remote-debugging-port=0. stderr keeps being drained into the "chrome" logger at debug level
+     * afterwards so the pipe never fills.
+     */
+    private String awaitDevToolsEndpoint(Process process) {
+        CompletableFuture<String> endpoint = new CompletableFuture<>();
+        Thread.ofPlatform().daemon().name("chrome-stderr-" + process.pid()).start(() -> {
+            try (BufferedReader reader = process.errorReader(StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    chromeLog.debug(line);
+                    Matcher matcher = DEVTOOLS_LISTENING_PATTERN.matcher(line);
+                    if (!endpoint.isDone() && matcher.find()) {
+                        endpoint.complete(matcher.group(1));
+                    }
+                }
+            } catch (IOException ignored) {
+            }
+            endpoint.completeExceptionally(new IllegalStateException("Chrome exited before DevTools was listening!"));
+        });
+        try {
+            return endpoint.get(STARTUP_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            stopBinary(process);
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            stopBinary(process);
+            throw new RuntimeException("DevTools endpoint wasn't reported within " + STARTUP_TIMEOUT_IN_MS + " ms!");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopBinary(process);
             throw new RuntimeException(e);
         }
     }
@@ -174,6 +292,9 @@ public class UCDriverOptions {
     }
 
     public String getDevToolBrowserUrl() {
+        if (browserWebSocketUrl != null && isBinaryAlive()) {
+            return browserWebSocketUrl;
+        }
         try {
             HttpRequest request = HttpRequest.newBuilder(new URI("http://" + getDebuggerUrl() + "/json/version")).build();
             HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
@@ -380,7 +501,9 @@ public class UCDriverOptions {
             arguments.add("--remote-debugging-port=" + port);
             arguments.add("--user-data-dir=" + createTempProfile());
 
-            arguments.add("--remote-allow-origins=http://" + getDebuggerUrl());
+            if (port != 0) {
+                arguments.add("--remote-allow-origins=http://" + getDebuggerUrl());
+            }
             
             optionArguments = arguments;
         }
@@ -420,15 +543,7 @@ public class UCDriverOptions {
         );
         try {
             if (tempProfileFolderPath == null) {
-                Files.createDirectories(Path.of(Constant.TEMP_PROFILE_FOLDER_PATH));
-                tempProfileFolderPath = Files.createDirectories(Path.of(Constant.TEMP_PROFILE_FOLDER_PATH + "temp-profile-" + UUID.randomUUID()));
-                setTempProfileForDeletion();
-                Runtime.getRuntime().addShutdownHook(new Thread(this::deleteTempProfile));
-                String defaultFolder = tempProfileFolderPath.toAbsolutePath() + FileSystems.getDefault().getSeparator() + "Default";
-                Files.createDirectories(Path.of(defaultFolder));
-                String preferencesFile = defaultFolder + FileSystems.getDefault().getSeparator() + "Preferences";
-                Path preferencesPath = Path.of(preferencesFile);
-                Files.write(preferencesPath, List.of(JacksonUtil.writeValueAsString(preferences)), StandardCharsets.UTF_8);
+                tempProfileFolderPath = ProfileUtil.provision(Path.of(profileRootPath), preferences);
             }
             return tempProfileFolderPath.toAbsolutePath().toString();
         } catch (IOException e) {
@@ -436,59 +551,8 @@ public class UCDriverOptions {
         }
     }
 
-    private void setTempProfileForDeletion() {
-        try {
-            Files.walkFileTree(tempProfileFolderPath, new SimpleFileVisitor<>() {
-                @Override
-                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-                    try {
-                        file.toFile().deleteOnExit();
-                    } catch (Exception ignored) {
-                    }
-                    return FileVisitResult.CONTINUE;
-                }
-                @Override
-                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
-                    try {
-                        dir.toFile().deleteOnExit();
-                    } catch (Exception ignored) {
-                    }
-                    return FileVisitResult.CONTINUE;
-                }
-            });
-        } catch (Exception e) {
-//            log.error(e.getMessage(), e);
-        }
-    }
-
     public void deleteTempProfile() {
-        try {
-            if (tempProfileFolderPath != null) {
-                Files.walkFileTree(tempProfileFolderPath, new SimpleFileVisitor<>() {
-                    @Override
-                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                        try {
-                            Files.delete(file);
-                        } catch (Exception ignored) {
-                        }
-                        return FileVisitResult.CONTINUE;
-                    }
-                    @Override
-                    public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
-                        if (e == null) {
-                            try {
-                                Files.delete(dir);
-                            } catch (Exception ignored) {
-                            }
-                            return FileVisitResult.CONTINUE;
-                        }
-                        throw e;
-                    }
-                });
-            }
-        } catch (IOException e) {
-//            log.error(e.getMessage(), e);
-        }
+        ProfileUtil.retire(tempProfileFolderPath);
     }
 
     public ChromeDriverService patchedDriverService() {
@@ -0,0 +1,214 @@
+package io.playground.scraper.core;
+
+import io.playground.scraper.core.devtools.DevToolsConnection;
+import io.playground.scraper.model.response.heap.HeapUsage;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps a number of started browsers ready and leases them to workers, so jobs don't pay for starting Chrome. Browsers
+ * are started in the background ahead of demand. A returned browser is reset (tabs, dialogs, cookies, cache, storage)
+ * and put back, unless it fails its health check, has served the configured number of leases or its JS heap grew past
+ * the limit; then it is quit and a replacement is started. The heap is sampled before the reset, while the job's
+ * document is still loaded, and compared against the blank tab the driver started with.
+ */
+@Slf4j
+public class UCDriverPool implements AutoCloseable {
+
+    private static final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("ucdriver-pool-", 0).factory());
+    private static final int RESTART_DELAY_IN_MS = 5000;
+    private static final double BYTES_PER_MB = 1024 * 1024;
+
+    private final UCDriverPoolOptions options;
+    private final BlockingQueue<PooledDriver> idle = new LinkedBlockingQueue<>();
+    private final Set<PooledDriver> drivers = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    public UCDriverPool() {
+        this(UCDriverPoolOptions.builder().build());
+    }
+
+    public UCDriverPool(UCDriverPoolOptions options) {
+        this.options = options;
+        for (int i = 0; i < options.getSize(); i++) {
+            startDriver();
+        }
+    }
+
+    public Lease lease() {
+        return lease(options.getLeaseTimeoutInMs());
+    }
+
+    public Lease lease(int timeoutInMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMs);
+        while (true) {
+            if (closed) {
+                throw new WebDriverException("UCDriverPool is closed!");
+            }
+            PooledDriver pooled;
+            try {
+                pooled = idle.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WebDriverException(e);
+            }
+            if (pooled == null) {
+                throw new TimeoutException("No driver became available within " + timeoutInMs + " ms!");
+            }
+            if (!options.isHealthCheckOnLease() || pooled.driver.isHealthy()) {
+                pooled.leases++;
+                return new Lease(this, pooled);
+            }
+            log.warn("Pooled driver failed its health check, replacing it");
+            retire(pooled);
+        }
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getSize() {
+        return drivers.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        idle.clear();
+        for (PooledDriver pooled : drivers) {
+            quit(pooled);
+        }
+        drivers.clear();
+    }
+
+    private void release(PooledDriver pooled, boolean invalidated) {
+        if (invalidated || closed) {
+            retire(pooled);
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                if (pooled.leases >= options.getMaxLeasesPerDriver()) {
+                    log.info("Recycling pooled driver after {} leases", pooled.leases);
+                    retire(pooled);
+                    return;
+                }
+                double heapGrowthInMb = (usedHeap(pooled.driver) - pooled.baselineHeap) / BYTES_PER_MB;
+                if (heapGrowthInMb > options.getMaxHeapGrowthInMb()) {
+                    log.info("Recycling pooled driver after {} MB heap growth", Math.round(heapGrowthInMb));
+                    retire(pooled);
+                    return;
+                }
+                pooled.driver.reset();
+                if (!pooled.driver.isHealthy()) {
+                    log.warn("Pooled driver failed its health check after reset, replacing it");
+                    retire(pooled);
+                } else if (closed) {
+                    retire(pooled);
+                } else {
+                    idle.offer(pooled);
+                }
+            } catch (Exception e) {
+                log.warn("Couldn't reset pooled driver, replacing it: {}", e.getMessage());
+                retire(pooled);
+            }
+        });
+    }
+
+    private void retire(PooledDriver pooled) {
+        if (drivers.remove(pooled)) {
+            executor.execute(() -> quit(pooled));
+            startDriver();
+        }
+    }
+
+    private void startDriver() {
+        if (closed) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                UCDriver driver = new UCDriver(options.getDriverOptions().copy());
+                PooledDriver pooled = new PooledDriver(driver, usedHeap(driver));
+                drivers.add(pooled);
+                if (closed) {
+                    drivers.remove(pooled);
+                    quit(pooled);
+                } else {
+                    idle.offer(pooled);
+                }
+            } catch (Exception e) {
+                log.error("Couldn't start pooled driver, retrying in {} ms: {}", RESTART_DELAY_IN_MS, e.getMessage());
+                DevToolsConnection.getScheduler().schedule(this::startDriver, RESTART_DELAY_IN_MS, 
+                                                           TimeUnit.MILLISECONDS);
+            }
+        });
+    }
+
+    private static double usedHeap(UCDriver driver) {
+        HeapUsage heapUsage = driver.getHeapUsage();
+        return heapUsage != null ? heapUsage.usedSize() : 0;
+    }
+
+    private static void quit(PooledDriver pooled) {
+        try {
+            pooled.driver.quit();
+        } catch (Exception e) {
+            log.warn("Couldn't quit pooled driver: {}", e.getMessage());
+        }
+    }
+
+    private static final class PooledDriver {
+
+        private final UCDriver driver;
+        private final double baselineHeap;
+        private int leases;
+
+        private PooledDriver(UCDriver driver, double baselineHeap) {
+            this.driver = driver;
+            this.baselineHeap = baselineHeap;
+        }
+    }
+
+    /**
+     * A driver borrowed from the pool. Closing the lease hands the driver back; {@link #invalidate()} makes the pool
+     * replace it instead, e.g. after the worker saw the browser misbehave.
+     */
+    public static final class Lease implements AutoCloseable {
+
+        private final UCDriverPool pool;
+        private final PooledDriver pooled;
+        private final AtomicBoolean returned = new AtomicBoolean();
+        private volatile boolean invalidated;
+
+        private Lease(UCDriverPool pool, PooledDriver pooled) {
+            this.pool = pool;
+            this.pooled = pooled;
+        }
+
+        public UCDriver getDriver() {
+            if (returned.get()) {
+                throw new WebDriverException("Lease has already been returned!");
+            }
+            return pooled.driver;
+        }
+
+        public void invalidate() {
+            invalidated = true;
+        }
+
+        @Override
+        public void close() {
+            if (returned.compareAndSet(false, true)) {
+                pool.release(pooled, invalidated);
+            }
+        }
+    }
+}
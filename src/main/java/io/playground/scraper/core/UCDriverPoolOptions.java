@@ -0,0 +1,27 @@
+package io.playground.scraper.core;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder(toBuilder = true)
+public class UCDriverPoolOptions {
+
+    @Builder.Default
+    private UCDriverOptions driverOptions = UCDriverOptions.builder().build();
+
+    @Builder.Default
+    private int size = 2;
+
+    @Builder.Default
+    private int maxLeasesPerDriver = 50;
+
+    @Builder.Default
+    private int maxHeapGrowthInMb = 256;
+
+    @Builder.Default
+    private int leaseTimeoutInMs = 60000;
+
+    @Builder.Default
+    private boolean healthCheckOnLease = true;
+}
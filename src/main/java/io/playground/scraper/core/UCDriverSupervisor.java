@@ -0,0 +1,118 @@
+package io.playground.scraper.core;
+
+import io.playground.scraper.core.devtools.DevToolsConnection;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Keeps a driver usable across browser crashes. The Chrome process, the browser websocket and Inspector.targetCrashed
+ * of every page session are watched, and whichever notices the crash first fails the pending commands at once instead
+ * of letting them run into their timeouts. Cookies are snapshotted periodically and after every job, so a job run with
+ * {@link #run(Function)} that fails because of a crash gets a restarted browser or a replaced tab with its cookies and
+ * last url restored, and is retried up to {@code maxRestarts} times.
+ */
+@Slf4j
+public class UCDriverSupervisor implements AutoCloseable {
+
+    private static final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("ucdriver-supervisor-", 0).factory());
+
+    private final UCDriver driver;
+    private final int maxRestarts;
+    private final ScheduledFuture<?> snapshotTask;
+    private volatile DevToolsConnection watchedConnection;
+    private volatile List<Map<String, Object>> cookies = List.of();
+    private volatile boolean closed;
+
+    public UCDriverSupervisor(UCDriver driver) {
+        this(driver, 3, Duration.ofSeconds(30));
+    }
+
+    public UCDriverSupervisor(UCDriver driver, int maxRestarts, Duration snapshotInterval) {
+        this.driver = driver;
+        this.maxRestarts = maxRestarts;
+        watch();
+        snapshot();
+        long period = Math.max(1, snapshotInterval.toMillis());
+        this.snapshotTask = DevToolsConnection.getScheduler().scheduleAtFixedRate(() -> executor.execute(this::snapshot),
+                                                                                  period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public UCDriver getDriver() {
+        return driver;
+    }
+
+    public <T> T run(Function<UCDriver, T> job) {
+        int restarts = 0;
+        while (true) {
+            if (driver.isCrashed()) {
+                recover();
+            }
+            try {
+                T result = job.apply(driver);
+                snapshot();
+                return result;
+            } catch (RuntimeException e) {
+                if (closed || !driver.isCrashed() || restarts >= maxRestarts) {
+                    throw e;
+                }
+                restarts++;
+                log.warn("Browser crashed while running a job, retrying it ({}/{}): {}", restarts, maxRestarts, 
+                         e.getMessage());
+            }
+        }
+    }
+
+    public synchronized void recover() {
+        if (closed) {
+            throw new WebDriverException("UCDriverSupervisor is closed!");
+        }
+        driver.recover(cookies);
+        watch();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        snapshotTask.cancel(false);
+    }
+
+    private synchronized void watch() {
+        DevToolsConnection connection = driver.getBrowserClient().getConnection();
+        if (connection == watchedConnection) {
+            return;
+        }
+        watchedConnection = connection;
+        connection.addCloseListener(reason -> {
+            if (!closed) {
+                log.warn("Browser connection closed: {}", reason);
+            }
+        });
+        driver.onBrowserExit().thenAccept(process -> {
+            if (!closed && process != null && connection == watchedConnection) {
+                log.warn("Chrome exited with code {}", process.exitValue());
+                connection.failPending(new WebDriverException("Chrome exited with code " + process.exitValue() + "!"));
+            }
+        });
+    }
+
+    private void snapshot() {
+        if (closed || driver.isCrashed()) {
+            return;
+        }
+        try {
+            cookies = driver.getBrowserClient().getAllCookies(driver.getBrowserContextId());
+        } catch (Exception e) {
+            log.debug("Couldn't snapshot cookies: {}", e.getMessage());
+        }
+    }
+}
@@ -1,13 +1,18 @@
 package io.playground.scraper.core;
 
 import io.playground.scraper.constant.Constant;
+import io.playground.scraper.core.devtools.PageFunctions;
+import io.playground.scraper.core.input.MotionFidelity;
+import io.playground.scraper.core.input.Mouse;
 import io.playground.scraper.core.side.UCCoordinates;
 import io.playground.scraper.model.response.ObjectNode;
 import io.playground.scraper.model.response.ScriptNode;
-import io.playground.scraper.model.response.boxmodel.Point;
 import io.playground.scraper.model.response.boxmodel.Rect;
-import io.playground.scraper.model.response.css.CSSStyle;
-import io.playground.scraper.model.response.screenshot.ViewPort;
+import io.playground.scraper.model.response.element.ElementSnapshot;
+import io.playground.scraper.model.response.element.ElementSnapshotQuery;
+import io.playground.scraper.model.response.element.SnapshotField;
+import io.playground.scraper.model.response.screenshot.ScreenshotData;
+import io.playground.scraper.model.response.screenshot.ScreenshotOptions;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Coordinates;
@@ -17,6 +22,7 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 public class UCElement extends RemoteWebElement {
@@ -56,25 +62,8 @@ public class UCElement extends RemoteWebElement {
 
     @Override
     public void submit() {
-        String script = """
-                var form = this;
-                while (form.nodeName != 'FORM' && form.parentNode) {
-                    form = form.parentNode;
-                }
-                if (!form) {
-                    throw Error('Unable to find containing form element');
-                }
-                if (!form.ownerDocument) {
-                    throw Error('Unable to find owning document');
-                }
-                var e = form.ownerDocument.createEvent('Event');
-                e.initEvent('submit', true, true);
-                if (form.dispatchEvent(e)) {
-                    HTMLFormElement.prototype.submit.call(form)
-                }
-                """;
         try {
-            client.executeScript(script, getId());
+            client.callFunction(getId(), PageFunctions.SUBMIT, "json");
         } catch (Exception ignored) {
         }
     }
@@ -82,7 +71,7 @@ public class UCElement extends RemoteWebElement {
     @Override
     public void clear() {
         try {
-            client.executeScript("obj.value = ''", getId());
+            client.callFunction(getId(), PageFunctions.CLEAR, "json");
         } catch (Exception ignored) {
         }
     }
@@ -90,7 +79,7 @@ public class UCElement extends RemoteWebElement {
     @Override
     public String getDomProperty(String name) {
         try {
-            ScriptNode scriptNode = client.executeScript("return obj[arguments[0]]", getId(), Map.of("value", name));
+            ScriptNode scriptNode = client.callFunction(getId(), PageFunctions.PROPERTY, "json", name);
             if (scriptNode != null) {
                 if (scriptNode.result().value() != null) {
                     return String.valueOf(scriptNode.result().value());
@@ -148,49 +137,46 @@ public class UCElement extends RemoteWebElement {
 
     @Override
     public boolean isDisplayed() {
-        String script = """
-                let html = document.getElementsByTagName('html')[0];
-                if (html) {
-                    let rect = obj.getBoundingClientRect();
-                    return rect.bottom >= 0 && rect.right >= 0
-                        && rect.top <= (window.innerHeight || html.clientHeight)
-                        && rect.left <= (window.innerWidth || html.clientWidth)
-                }
-                """;
-        ScriptNode scriptNode = client.executeScript(script, getId(), "json");
-        if (scriptNode != null) {
-            if (scriptNode.result().value() != null) {
-                return scriptNode.result().getValueAsBoolean();
-            }
+        try {
+            return snapshot(SnapshotField.DISPLAYED).isDisplayed();
+        } catch (Exception ignored) {
         }
         return false;
     }
 
     @Override
     public String getText() {
-        String text = getDomProperty("value");
-        if (text.equals(Constant.ELEMENT_NOT_FOUND)) {
-            text = getDomProperty("outerText");
-        }
-        if (text.equals(Constant.ELEMENT_NOT_FOUND)) {
-            text = getDomProperty("innerText");
+        try {
+            String text = snapshot(SnapshotField.TEXT).text();
+            if (text != null) {
+                return text;
+            }
+        } catch (Exception ignored) {
         }
-        return text;
+        return Constant.ELEMENT_NOT_FOUND;
     }
 
     @Override
     public String getCssValue(String propertyName) {
         try {
-            for (CSSStyle cssStyle : client.getCSSStyle(getNodeId())) {
-                if (cssStyle.name().equals(propertyName)) {
-                    return cssStyle.value();
-                }
-            }
+            return snapshot(ElementSnapshotQuery.builder().cssProperty(propertyName).build()).getCssValue(propertyName);
         } catch (Exception ignored) {
         }
         return Constant.ELEMENT_NOT_FOUND;
     }
 
+    public ElementSnapshot snapshot(SnapshotField... fields) {
+        return snapshot(ElementSnapshotQuery.of(fields));
+    }
+
+    public ElementSnapshot snapshot(ElementSnapshotQuery query) {
+        ElementSnapshot snapshot = client.getElementSnapshot(getId(), query);
+        if (snapshot == null) {
+            throw new NoSuchElementException("Snapshot for element " + getId() + " not found!");
+        }
+        return snapshot;
+    }
+
     @Override
     public List<WebElement> findElements(By by) {
         return driver.findElements(by, getId(), null);
@@ -261,22 +247,35 @@ public class UCElement extends RemoteWebElement {
     }
 
     public Path saveScreenshot(String title) {
-        Rect rect = client.getRect(super.getId());
-        if (rect != null) {
-            ViewPort viewPort = new ViewPort((double) rect.x(), (double) rect.y(), rect.width(), rect.height(), 1.0);
-            return driver.saveScreenshot(title, viewPort);
+        return saveScreenshot(title, ScreenshotOptions.png());
+    }
+
+    public Path saveScreenshot(String title, ScreenshotOptions options) {
+        try {
+            return saveScreenshotAsync(title, options).join();
+        } catch (Exception ignored) {
         }
-        return driver.saveScreenshot(title);
+        return null;
+    }
+
+    public CompletableFuture<Path> saveScreenshotAsync(String title, ScreenshotOptions options) {
+        return driver.saveScreenshotAsync(title, captureAsync(options), options.getFormat());
     }
 
     @Override
     public <X> X getScreenshotAs(OutputType<X> outputType) throws WebDriverException {
-        Rect rect = client.getRect(super.getId());
-        if (rect != null) {
-            ViewPort viewPort = new ViewPort((double) rect.x(), (double) rect.y(), rect.width(), rect.height(), 1.0);
-            return driver.getScreenshotAs(outputType, viewPort);
+        ScreenshotData result = captureAsync(ScreenshotOptions.png()).join();
+        if (result == null || result.data() == null) {
+            throw new WebDriverException("Unexpected result for screenshot command: null");
         }
-        return driver.getScreenshotAs(outputType);
+        return outputType.convertFromBase64Png(result.data());
+    }
+
+    private CompletableFuture<ScreenshotData> captureAsync(ScreenshotOptions options) {
+        return client.getElementClipAsync(super.getId())
+                     .thenCompose(clip -> client.getScreenshotAsync(
+                             clip != null ? options.toBuilder().clip(clip).captureBeyondViewport(true).build() 
+                                          : options));
     }
 
     @Override
@@ -287,32 +286,22 @@ public class UCElement extends RemoteWebElement {
     @Override
     public void sendKeys(CharSequence... keysToSend) {
         click();
-        String allKeysToSend = String.join("", keysToSend);
-        for (int i = 0; i < allKeysToSend.length(); i++) {
-            client.sendKey(allKeysToSend.charAt(i));
-        }
+        client.keyboard().type(String.join("", keysToSend));
     }
 
     @Override
     public void click() {
-        Rect rect = client.getRect(getId());
-        if (rect != null) {
-            Point center = rect.getCenter();
-            moveMouseTo(center);
-            client.clickMouse(center);
-        }
+        click(client.mouse());
+    }
+
+    public void click(MotionFidelity fidelity) {
+        click(client.mouse().withFidelity(fidelity));
     }
 
-    private void moveMouseTo(Point point) {
-        Point top = new Point(point.x(), 0);
-        client.moveMouse(top.getRandom(10));
-        client.moveMouse(top.getRandom(10));
-        client.moveMouse(top.getRandom(10));
-        client.moveMouse(top.getRandom(10));
-        client.moveMouse(top.getRandom(10));
-        client.moveMouse(top);
-        for (Point p : point.getSpreadPoints(10)) {
-            driver.getClient().moveMouse(p);
+    private void click(Mouse mouse) {
+        Rect rect = client.getRect(getId());
+        if (rect != null) {
+            mouse.click(rect.getCenter(), rect.width());
         }
     }
 }
@@ -0,0 +1,155 @@
+package io.playground.scraper.core;
+
+import io.playground.scraper.core.devtools.DevToolsConnection;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Runs jobs on tabs of a single browser instead of one Chrome process per worker. Up to {@code maxTabs} jobs run at
+ * once, each on its own tab driver created with {@link UCDriver#newTab(boolean)}, so sessions and context caches are
+ * never shared between concurrent jobs. Finished tabs are reset and reused most-recently-used first; tabs that stay
+ * idle longer than the idle timeout are closed. Isolated tabs live in their own browser context and are discarded
+ * after every job together with their cookies and storage.
+ */
+@Slf4j
+public class UCTabPool implements AutoCloseable {
+
+    private static final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("uctab-worker-", 0).factory());
+
+    private final UCDriver browser;
+    private final boolean ownsBrowser;
+    private final boolean isolated;
+    private final long idleTimeoutNanos;
+    private final Semaphore permits;
+    private final Deque<IdleTab> idleTabs = new ConcurrentLinkedDeque<>();
+    private final Set<UCDriver> tabs = ConcurrentHashMap.newKeySet();
+    private final ScheduledFuture<?> reaper;
+    private volatile boolean closed;
+
+    public UCTabPool(UCDriverOptions options, int maxTabs) {
+        this(new UCDriver(options), true, maxTabs, false, Duration.ofSeconds(30));
+    }
+
+    public UCTabPool(UCDriver browser, int maxTabs, boolean isolated, Duration idleTimeout) {
+        this(browser, false, maxTabs, isolated, idleTimeout);
+    }
+
+    private UCTabPool(UCDriver browser, boolean ownsBrowser, int maxTabs, boolean isolated, Duration idleTimeout) {
+        this.browser = browser;
+        this.ownsBrowser = ownsBrowser;
+        this.isolated = isolated;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.permits = new Semaphore(maxTabs, true);
+        long period = Math.max(1, idleTimeout.toMillis() / 2);
+        this.reaper = DevToolsConnection.getScheduler().scheduleAtFixedRate(() -> executor.execute(this::closeIdleTabs),
+                                                                            period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public <T> CompletableFuture<T> submit(Function<UCDriver, T> job) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new WebDriverException("UCTabPool is closed!"));
+        }
+        return CompletableFuture.supplyAsync(() -> run(job), executor);
+    }
+
+    public int getOpenTabCount() {
+        return tabs.size();
+    }
+
+    public int getIdleTabCount() {
+        return idleTabs.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        reaper.cancel(false);
+        idleTabs.clear();
+        for (UCDriver tab : tabs) {
+            closeTab(tab);
+        }
+        if (ownsBrowser) {
+            browser.quit();
+        }
+    }
+
+    private <T> T run(Function<UCDriver, T> job) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+        UCDriver tab = null;
+        boolean completed = false;
+        try {
+            tab = takeTab();
+            T result = job.apply(tab);
+            completed = true;
+            return result;
+        } finally {
+            if (tab != null) {
+                releaseTab(tab, completed);
+            }
+            permits.release();
+        }
+    }
+
+    private UCDriver takeTab() {
+        IdleTab idle;
+        while ((idle = idleTabs.pollFirst()) != null) {
+            if (idle.tab.isHealthy()) {
+                return idle.tab;
+            }
+            closeTab(idle.tab);
+        }
+        if (closed) {
+            throw new WebDriverException("UCTabPool is closed!");
+        }
+        UCDriver tab = browser.newTab(isolated);
+        tabs.add(tab);
+        return tab;
+    }
+
+    private void releaseTab(UCDriver tab, boolean completed) {
+        if (closed || isolated || !completed) {
+            closeTab(tab);
+            return;
+        }
+        try {
+            tab.reset();
+            idleTabs.offerFirst(new IdleTab(tab, System.nanoTime()));
+        } catch (Exception e) {
+            log.warn("Couldn't reset tab, closing it: {}", e.getMessage());
+            closeTab(tab);
+        }
+    }
+
+    private void closeIdleTabs() {
+        long now = System.nanoTime();
+        for (IdleTab idle : idleTabs) {
+            if (now - idle.idleSince > idleTimeoutNanos && idleTabs.removeFirstOccurrence(idle)) {
+                closeTab(idle.tab);
+            }
+        }
+    }
+
+    private void closeTab(UCDriver tab) {
+        tabs.remove(tab);
+        try {
+            tab.quit();
+        } catch (Exception e) {
+            log.warn("Couldn't close tab: {}", e.getMessage());
+        }
+    }
+
+    private record IdleTab(UCDriver tab, long idleSince) {
+    }
+}
@@ -0,0 +1,200 @@
+package io.playground.scraper.core.devtools;
+
+import io.playground.scraper.core.DevToolsClient;
+import io.playground.scraper.model.chromedevtools.DevToolsMethod;
+import io.playground.scraper.model.chromedevtools.DevToolsPayload;
+import io.playground.scraper.model.key.KeyStroke;
+import io.playground.scraper.model.key.KeyboardCode;
+import io.playground.scraper.model.response.boxmodel.Point;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queues CDP commands and writes them to the socket back-to-back, so a sequence of N commands costs roughly one
+ * round trip instead of N. The browser still processes the commands in the order they were added. {@link #pause}
+ * delays the following commands on the client-side scheduler instead of waiting for acknowledgements in between.
+ */
+public class CommandBatch {
+
+    private final DevToolsClient client;
+    private final List<Command> commands = new ArrayList<>();
+    private long delayNanos;
+
+    private record Command(DevToolsMethod method, Map<String, Object> params, long delayNanos) {}
+
+    public CommandBatch(DevToolsClient client) {
+        this.client = client;
+    }
+
+    public CommandBatch add(DevToolsMethod method) {
+        return add(method, null);
+    }
+
+    public CommandBatch add(DevToolsMethod method, Map<String, Object> params) {
+        commands.add(new Command(method, params, delayNanos));
+        return this;
+    }
+
+    public CommandBatch pause(Duration duration) {
+        delayNanos += duration.toNanos();
+        return this;
+    }
+
+    public CommandBatch moveMouse(Point point) {
+        return add(DevToolsMethod.INPUT_DISPATCH_MOUSE_EVENT, mouseEvent("mouseMoved", point, 0));
+    }
+
+    public CommandBatch clickMouse(Point point) {
+        add(DevToolsMethod.INPUT_DISPATCH_MOUSE_EVENT, mouseEvent("mousePressed", point, 1));
+        return add(DevToolsMethod.INPUT_DISPATCH_MOUSE_EVENT, mouseEvent("mouseReleased", point, 1));
+    }
+
+    public CommandBatch sendKey(char ch) {
+        KeyStroke keyStroke = KeyboardCode.forChar(ch);
+        if (keyStroke == null) {
+            add(DevToolsMethod.INPUT_DISPATCH_KEY_EVENT, Map.of("type", "keyDown", "text", String.valueOf(ch)));
+            return add(DevToolsMethod.INPUT_DISPATCH_KEY_EVENT, Map.of("type", "keyUp", "text", String.valueOf(ch)));
+        }
+        int modifiers = keyStroke.shift() ? KeyboardCode.MODIFIER_SHIFT : 0;
+        keyDown(keyStroke, modifiers);
+        return keyUp(keyStroke, modifiers);
+    }
+
+    public CommandBatch keyDown(KeyStroke keyStroke, int modifiers) {
+        Map<String, Object> params = keyEvent(keyStroke, modifiers);
+        String text = keyStroke.getText();
+        boolean shortcut = (modifiers & ~KeyboardCode.MODIFIER_SHIFT) != 0;
+        if (text != null && !shortcut) {
+            params.put("type", "keyDown");
+            params.put("text", text);
+            params.put("unmodifiedText", text);
+        } else {
+            params.put("type", "rawKeyDown");
+        }
+        return add(DevToolsMethod.INPUT_DISPATCH_KEY_EVENT, params);
+    }
+
+    public CommandBatch keyUp(KeyStroke keyStroke, int modifiers) {
+        Map<String, Object> params = keyEvent(keyStroke, modifiers);
+        params.put("type", "keyUp");
+        return add(DevToolsMethod.INPUT_DISPATCH_KEY_EVENT, params);
+    }
+
+    public CommandBatch insertText(String text) {
+        return add(DevToolsMethod.INPUT_INSERT_TEXT, Map.of("text", text));
+    }
+
+    public CommandBatch sendKeys(CharSequence keys) {
+        for (int i = 0; i < keys.length(); i++) {
+            sendKey(keys.charAt(i));
+        }
+        return this;
+    }
+
+    public CommandBatch scrollGesture(int x, int y, Integer xDistance, Integer yDistance, Integer speed, Integer repeatCount) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("x", x);
+        params.put("y", y);
+        if (xDistance != null) {
+            params.put("xDistance", xDistance);
+        }
+        if (yDistance != null) {
+            params.put("yDistance", yDistance);
+        }
+        if (speed != null) {
+            params.put("speed", speed);
+        }
+        if (repeatCount != null) {
+            params.put("repeatCount", repeatCount);
+            params.put("repeatDelayMs", 0);
+        }
+        return add(DevToolsMethod.INPUT_SYNTHESIZE_SCROLL_GESTURE, params);
+    }
+
+    public int size() {
+        return commands.size();
+    }
+
+    public List<CompletableFuture<DevToolsPayload>> submit() {
+        List<Command> submitted = List.copyOf(commands);
+        List<CompletableFuture<DevToolsPayload>> futures = new ArrayList<>(submitted.size());
+        for (int i = 0; i < submitted.size(); i++) {
+            futures.add(new CompletableFuture<>());
+        }
+        commands.clear();
+        delayNanos = 0;
+        sendFrom(submitted, futures, 0, System.nanoTime());
+        return futures;
+    }
+
+    private void sendFrom(List<Command> submitted, List<CompletableFuture<DevToolsPayload>> futures, int index,
+                          long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        while (index < submitted.size() && submitted.get(index).delayNanos() <= elapsed) {
+            Command command = submitted.get(index);
+            CompletableFuture<DevToolsPayload> future = futures.get(index);
+            try {
+                client.sendAsync(command.method(), command.params()).whenComplete((payload, throwable) -> {
+                    if (throwable != null) {
+                        future.completeExceptionally(throwable);
+                    } else {
+                        future.complete(payload);
+                    }
+                });
+            } catch (RuntimeException e) {
+                for (int i = index; i < futures.size(); i++) {
+                    futures.get(i).completeExceptionally(e);
+                }
+                return;
+            }
+            index++;
+        }
+        if (index < submitted.size()) {
+            int next = index;
+            DevToolsConnection.getScheduler().schedule(() -> sendFrom(submitted, futures, next, startNanos),
+                                                       submitted.get(next).delayNanos() - elapsed,
+                                                       TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public List<DevToolsPayload> execute() {
+        List<CompletableFuture<DevToolsPayload>> futures = submit();
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof WebDriverException webDriverException) {
+                throw webDriverException;
+            }
+            throw new WebDriverException(e.getCause());
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private static Map<String, Object> keyEvent(KeyStroke keyStroke, int modifiers) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("key", keyStroke.getKey());
+        params.put("code", keyStroke.keyboardCode().getCode());
+        params.put("windowsVirtualKeyCode", keyStroke.keyboardCode().getWindowsVirtualKeyCode());
+        params.put("nativeVirtualKeyCode", keyStroke.keyboardCode().getWindowsVirtualKeyCode());
+        params.put("modifiers", modifiers);
+        return params;
+    }
+
+    private static Map<String, Object> mouseEvent(String type, Point point, int clickCount) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("type", type);
+        params.put("x", point.x());
+        params.put("y", point.y());
+        params.put("button", "left");
+        params.put("clickCount", clickCount);
+        return params;
+    }
+}
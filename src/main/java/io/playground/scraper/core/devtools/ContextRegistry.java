@@ -0,0 +1,186 @@
+package io.playground.scraper.core.devtools;
+
+import io.playground.scraper.model.chromedevtools.DevToolsMethod;
+import io.playground.scraper.model.chromedevtools.DevToolsPayload;
+import io.playground.scraper.model.response.ResolvedNode;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the execution contexts and root handles of a page session valid from CDP events, so lookups cost no round
+ * trip and are dropped only when they really go stale. Page.frameNavigated/frameDetached invalidate the frame that
+ * changed (and the root handles for the main frame), DOM.documentUpdated the root node id, and
+ * Runtime.executionContextCreated/Destroyed/Cleared track contexts as the browser creates and destroys them when
+ * the Runtime domain is enabled. Values fetched concurrently with an invalidation are discarded via a generation check.
+ */
+public class ContextRegistry {
+
+    public static final String ISOLATED_WORLD_NAME = "scraper";
+
+    private final Map<String, Integer> isolatedContexts = new ConcurrentHashMap<>();
+    private final Map<Integer, String> contextFrames = new ConcurrentHashMap<>();
+    private volatile String mainFrameId;
+    private long generation;
+    private int rootNodeId;
+    private String rootObjectId;
+    private String globalThisId;
+
+    public void register(EventDispatcher dispatcher) {
+        dispatcher.register(DevToolsMethod.PAGE_FRAME_NAVIGATED.getMethod(), this::onFrameNavigated);
+        dispatcher.register(DevToolsMethod.PAGE_FRAME_DETACHED.getMethod(),
+                            event -> dropFrame(stringParam(event.getParams(), "frameId")));
+        dispatcher.register(DevToolsMethod.DOM_DOCUMENT_UPDATED.getMethod(), event -> invalidateRootNode());
+        dispatcher.register(DevToolsMethod.RUNTIME_EXECUTION_CONTEXT_CREATED.getMethod(), this::onContextCreated);
+        dispatcher.register(DevToolsMethod.RUNTIME_EXECUTION_CONTEXT_DESTROYED.getMethod(), this::onContextDestroyed);
+        dispatcher.register(DevToolsMethod.RUNTIME_EXECUTION_CONTEXTS_CLEARED.getMethod(), event -> clear());
+    }
+
+    public String getMainFrameId() {
+        return mainFrameId;
+    }
+
+    public void setMainFrameId(String frameId) {
+        if (mainFrameId == null) {
+            mainFrameId = frameId;
+        }
+    }
+
+    public Integer getIsolatedContextId(String frameId) {
+        return frameId != null ? isolatedContexts.get(frameId) : null;
+    }
+
+    /**
+     * Caches a context id fetched by the caller, unless a frame was invalidated since {@code generation} was read.
+     */
+    public synchronized boolean putIsolatedContext(String frameId, int executionContextId, long generation) {
+        if (this.generation != generation) {
+            return false;
+        }
+        putIsolatedContext(frameId, executionContextId);
+        return true;
+    }
+
+    private void putIsolatedContext(String frameId, int executionContextId) {
+        isolatedContexts.put(frameId, executionContextId);
+        contextFrames.put(executionContextId, frameId);
+    }
+
+    public boolean isIsolatedContext(int executionContextId) {
+        return contextFrames.containsKey(executionContextId);
+    }
+
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    public synchronized int getRootNodeId() {
+        return rootNodeId;
+    }
+
+    public synchronized void setRootNodeId(int rootNodeId, long generation) {
+        if (this.generation == generation) {
+            this.rootNodeId = rootNodeId;
+        }
+    }
+
+    public synchronized String getRootObjectId() {
+        return rootObjectId;
+    }
+
+    public synchronized void setRootObjectId(String rootObjectId, long generation) {
+        if (this.generation == generation) {
+            this.rootObjectId = rootObjectId;
+        }
+    }
+
+    public synchronized String getGlobalThisId() {
+        return globalThisId;
+    }
+
+    public synchronized void setGlobalThisId(String globalThisId, long generation) {
+        if (this.generation == generation) {
+            this.globalThisId = globalThisId;
+        }
+    }
+
+    public synchronized void clear() {
+        isolatedContexts.clear();
+        contextFrames.clear();
+        mainFrameId = null;
+        invalidateDocument();
+    }
+
+    private void onFrameNavigated(DevToolsPayload event) {
+        if (event.hasParam() && event.getParams().get("frame") instanceof Map<?, ?> frame) {
+            String frameId = stringParam(frame, "id");
+            dropFrame(frameId);
+            if (frame.get("parentId") == null) {
+                synchronized (this) {
+                    mainFrameId = frameId;
+                    invalidateDocument();
+                }
+            }
+        }
+    }
+
+    private void onContextCreated(DevToolsPayload event) {
+        if (event.hasParam() && event.getParams().get("context") instanceof Map<?, ?> context
+                && context.get("auxData") instanceof Map<?, ?> auxData
+                && ISOLATED_WORLD_NAME.equals(context.get("name"))
+                && context.get("id") instanceof Number executionContextId) {
+            String frameId = stringParam(auxData, "frameId");
+            if (frameId != null) {
+                synchronized (this) {
+                    putIsolatedContext(frameId, executionContextId.intValue());
+                }
+            }
+        }
+    }
+
+    private void onContextDestroyed(DevToolsPayload event) {
+        if (event.hasParam() && event.getParams().get("executionContextId") instanceof Number id) {
+            int executionContextId = id.intValue();
+            String frameId = contextFrames.remove(executionContextId);
+            if (frameId != null) {
+                isolatedContexts.remove(frameId, executionContextId);
+            }
+            synchronized (this) {
+                if (ResolvedNode.getExecutionContextId(rootObjectId) == executionContextId) {
+                    rootObjectId = null;
+                    generation++;
+                }
+                if (ResolvedNode.getExecutionContextId(globalThisId) == executionContextId) {
+                    globalThisId = null;
+                    generation++;
+                }
+            }
+        }
+    }
+
+    private synchronized void dropFrame(String frameId) {
+        if (frameId != null) {
+            Integer executionContextId = isolatedContexts.remove(frameId);
+            if (executionContextId != null) {
+                contextFrames.remove(executionContextId);
+            }
+            generation++;
+        }
+    }
+
+    private synchronized void invalidateRootNode() {
+        rootNodeId = 0;
+        generation++;
+    }
+
+    private synchronized void invalidateDocument() {
+        rootNodeId = 0;
+        rootObjectId = null;
+        globalThisId = null;
+        generation++;
+    }
+
+    private static String stringParam(Map<?, ?> params, String name) {
+        return params != null && params.get(name) instanceof String value ? value : null;
+    }
+}
@@ -0,0 +1,306 @@
+package io.playground.scraper.core.devtools;
+
+import io.playground.scraper.model.chromedevtools.DevToolsMethod;
+import io.playground.scraper.model.chromedevtools.DevToolsPayload;
+import io.playground.scraper.util.JacksonUtil;
+import jakarta.websocket.*;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * One websocket to a DevTools endpoint. Commands from every session on the socket share the id space and are
+ * correlated back to their futures here; events are routed to the session handler registered for their sessionId
+ * (flattened Target.attachToTarget sessions), or to the root handler when the event has no sessionId. When the socket
+ * closes every pending command fails at once instead of waiting for its timeout.
+ */
+@Slf4j
+@ClientEndpoint(configurator = DevToolsConnection.HandshakeConfigurator.class)
+public class DevToolsConnection {
+
+    private static final int MAX_RETAINED_MESSAGE_BUFFER_SIZE = 1024 * 1024;
+    private static final String ROOT_SESSION = "";
+    private static final ScheduledExecutorService scheduler = createScheduler();
+
+    private final String endpoint;
+    private final boolean logEvents;
+    private final AtomicInteger requestId = new AtomicInteger();
+    private final Map<Integer, CompletableFuture<DevToolsPayload>> pendingCommands = new ConcurrentHashMap<>();
+    private final Map<Integer, String> pendingSessions = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> closeListeners = new CopyOnWriteArrayList<>();
+    private final Map<String, Consumer<DevToolsPayload>> sessions = new ConcurrentHashMap<>();
+    private final DevToolsMetrics metrics = new DevToolsMetrics();
+    private volatile Session session;
+    private volatile String closeReason;
+    private StringBuilder partialMessage = new StringBuilder();
+
+    public DevToolsConnection(String endpoint, boolean logEvents) {
+        try {
+            this.endpoint = endpoint;
+            this.logEvents = logEvents;
+            WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+            container.connectToServer(this, new URI(endpoint));
+            metrics.register(endpoint);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static ScheduledExecutorService createScheduler() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "devtools-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    public static ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    public static <T> CompletableFuture<T> withTimeout(CompletableFuture<T> future, Duration timeout, String description) {
+        ScheduledFuture<?> timeoutTask = scheduler.schedule(
+                () -> future.completeExceptionally(new TimeoutException(description + " after " + timeout.toMillis() + " ms!")),
+                timeout.toMillis(), TimeUnit.MILLISECONDS);
+        future.whenComplete((result, throwable) -> timeoutTask.cancel(false));
+        return future;
+    }
+
+    @OnOpen
+    public void onOpen(Session session) {
+        this.session = session;
+        log.info("Connected to server {}!", endpoint);
+    }
+
+    @OnClose
+    public void onClose(Session session, CloseReason reason) {
+        closeReason = reason.getCloseCode() + " " + reason.getReasonPhrase();
+        log.info("Connection to server {} closed: {}", endpoint, closeReason);
+        failPending(new WebDriverException("DevTools connection to " + endpoint + " closed: " + closeReason));
+        for (Consumer<String> listener : closeListeners) {
+            try {
+                listener.accept(closeReason);
+            } catch (Exception e) {
+                log.error("Close listener failed", e);
+            }
+        }
+    }
+
+    @OnError
+    public void onError(Session session, Throwable throwable) {
+        log.error("Error on connection to server {}: {}", endpoint, throwable.getMessage());
+        if (!isOpen()) {
+            failPending(new WebDriverException("DevTools connection to " + endpoint + " failed!", throwable));
+        }
+    }
+
+    public void addCloseListener(Consumer<String> listener) {
+        closeListeners.add(listener);
+    }
+
+    public void failPending(Throwable cause) {
+        for (CompletableFuture<DevToolsPayload> pendingCommand : pendingCommands.values()) {
+            pendingCommand.completeExceptionally(cause);
+        }
+    }
+
+    public void failPending(String sessionId, Throwable cause) {
+        String key = toKey(sessionId);
+        pendingSessions.forEach((id, pendingSessionId) -> {
+            CompletableFuture<DevToolsPayload> pendingCommand = pendingCommands.get(id);
+            if (pendingSessionId.equals(key) && pendingCommand != null) {
+                pendingCommand.completeExceptionally(cause);
+            }
+        });
+    }
+
+    @OnMessage
+    public void onMessage(String messagePart, boolean last) {
+        if (last && partialMessage.isEmpty()) {
+            onMessage(messagePart);
+            return;
+        }
+        partialMessage.append(messagePart);
+        if (last) {
+            String message = partialMessage.toString();
+            if (partialMessage.capacity() > MAX_RETAINED_MESSAGE_BUFFER_SIZE) {
+                partialMessage = new StringBuilder();
+            } else {
+                partialMessage.setLength(0);
+            }
+            onMessage(message);
+        }
+    }
+
+    public void onMessage(String message) {
+        metrics.messageReceived(message);
+        if (logEvents) {
+            if (message.length() < 1000) {
+                log.info("Received from ChromeDevTools: {}", message);
+            } else {
+                log.info("Received from ChromeDevTools: {}...", message.substring(0, 1000));
+            }
+        }
+        DevToolsPayload payload = null;
+        try {
+            payload = PayloadDecoder.decode(message);
+            if (payload.isError() || payload.hasExceptionDetails()) {
+                log.error("ErrorMessage[{}]", message);
+            }
+
+            if (payload.hasId()) {
+                CompletableFuture<DevToolsPayload> pendingCommand = pendingCommands.remove(payload.getId());
+                if (pendingCommand != null) {
+                    pendingCommand.complete(payload);
+                }
+            } else if (payload.isEvent()) {
+                metrics.eventReceived(payload.getMethod());
+                if (payload.getMethod().equals(DevToolsMethod.TARGET_DETACHED_FROM_TARGET.getMethod())) {
+                    Object detachedSessionId = payload.getParams().get("sessionId");
+                    if (detachedSessionId != null) {
+                        sessions.remove(String.valueOf(detachedSessionId));
+                    }
+                }
+                Consumer<DevToolsPayload> handler = sessions.get(toKey(payload.getSessionId()));
+                if (handler != null) {
+                    handler.accept(payload);
+                }
+            }
+        } catch (Exception e) {
+            Integer id = payload != null ? payload.getId() : PayloadDecoder.peekId(message);
+            if (id != null) {
+                log.warn("Failed to handle response {} from ChromeDevTools", id, e);
+                CompletableFuture<DevToolsPayload> pendingCommand = pendingCommands.remove(id);
+                if (pendingCommand != null) {
+                    pendingCommand.completeExceptionally(e);
+                }
+            } else if (payload != null) {
+                log.warn("Failed to handle event '{}' from ChromeDevTools", payload.getMethod(), e);
+            } else {
+                log.warn("Couldn't decode message from ChromeDevTools: {}",
+                         message.length() < 200 ? message : message.substring(0, 200) + "...", e);
+            }
+        }
+    }
+
+    public void addSession(String sessionId, Consumer<DevToolsPayload> eventHandler) {
+        sessions.put(toKey(sessionId), eventHandler);
+    }
+
+    public void removeSession(String sessionId) {
+        sessions.remove(toKey(sessionId));
+    }
+
+    public boolean hasSession(String sessionId) {
+        return sessions.containsKey(toKey(sessionId));
+    }
+
+    public void send(String message) {
+        session.getAsyncRemote().sendText(message);
+        if (logEvents) {
+            log.info("Sent message '{}' to server '{}'!", message, endpoint);
+        }
+    }
+
+    public int nextRequestId() {
+        return requestId.incrementAndGet();
+    }
+
+    public CompletableFuture<DevToolsPayload> sendAsync(String sessionId, String method, Map<String, Object> params,
+                                                        Duration timeout) {
+        int id = nextRequestId();
+        return sendAsync(id, sessionId, method, createPayload(id, sessionId, method, params), timeout);
+    }
+
+    public CompletableFuture<DevToolsPayload> sendAsync(int id, String method, String message, Duration timeout) {
+        return sendAsync(id, null, method, message, timeout);
+    }
+
+    private CompletableFuture<DevToolsPayload> sendAsync(int id, String sessionId, String method, String message, 
+                                                         Duration timeout) {
+        CompletableFuture<DevToolsPayload> future = new CompletableFuture<>();
+        if (closeReason != null) {
+            future.completeExceptionally(new WebDriverException("DevTools connection to " + endpoint + " is closed: "
+                                                                        + closeReason));
+            return future;
+        }
+        pendingCommands.put(id, future);
+        pendingSessions.put(id, toKey(sessionId));
+        withTimeout(future, timeout, "No response for command " + id + " '" + method + "'");
+        long startNanos = System.nanoTime();
+        metrics.commandSent(message);
+        future.whenComplete((payload, throwable) -> {
+            pendingCommands.remove(id);
+            pendingSessions.remove(id);
+            metrics.commandCompleted(method, System.nanoTime() - startNanos, throwable instanceof TimeoutException);
+        });
+        try {
+            send(message);
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    public String createPayload(int id, String sessionId, String method, Map<String, Object> params) {
+        DevToolsPayload payload = DevToolsPayload.builder()
+                                                 .id(id)
+                                                 .sessionId(sessionId)
+                                                 .method(method)
+                                                 .params(params)
+                                                 .build();
+        return JacksonUtil.writeValueAsString(payload);
+    }
+
+    public DevToolsMetrics getMetrics() {
+        return metrics;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public boolean isOpen() {
+        return session != null && session.isOpen();
+    }
+
+    public void close() {
+        metrics.unregister();
+        if (isOpen()) {
+            try {
+                session.close();
+                log.info("Closed the session with server '{}'!", endpoint);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    private static String toKey(String sessionId) {
+        return sessionId == null ? ROOT_SESSION : sessionId;
+    }
+
+    /**
+     * Drops the Origin header the websocket client derives from the endpoint. Chrome only checks
+     * --remote-allow-origins when an Origin is sent, and with --remote-debugging-port=0 the port isn't known in time
+     * to allow it.
+     */
+    public static class HandshakeConfigurator extends ClientEndpointConfig.Configurator {
+
+        @Override
+        public void beforeRequest(Map<String, List<String>> headers) {
+            headers.keySet().removeIf("Origin"::equalsIgnoreCase);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package io.playground.scraper.core.devtools;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Per-connection CDP counters: latency per method, in-flight commands, traffic, events per domain and timeouts.
+ * Traffic is counted in UTF-8 bytes of the text frames, measured without encoding the message a second time.
+ */
+@Slf4j
+public class DevToolsMetrics implements DevToolsMetricsMXBean {
+
+    private static final AtomicInteger instanceCounter = new AtomicInteger();
+
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> timeoutsPerMethod = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> eventsPerDomain = new ConcurrentHashMap<>();
+    private final LongAdder inFlightCommands = new LongAdder();
+    private final LongAdder commandsSent = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder eventsReceived = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private volatile long startNanos = System.nanoTime();
+    private ObjectName objectName;
+
+    public record Snapshot(
+            long uptimeMs,
+            long inFlightCommands,
+            long commandsSent,
+            long bytesSent,
+            long bytesReceived,
+            long eventsReceived,
+            long timeouts,
+            Map<String, LatencyHistogram.Snapshot> latencies,
+            Map<String, Long> eventsPerDomain,
+            Map<String, Long> timeoutsPerMethod
+    ) {}
+
+    public void commandSent(String message) {
+        inFlightCommands.increment();
+        commandsSent.increment();
+        bytesSent.add(utf8Length(message));
+    }
+
+    public void commandCompleted(String method, long nanos, boolean timedOut) {
+        inFlightCommands.decrement();
+        if (timedOut) {
+            timeouts.increment();
+            timeoutsPerMethod.computeIfAbsent(method, key -> new LongAdder()).increment();
+        } else {
+            latencies.computeIfAbsent(method, key -> new LatencyHistogram()).record(nanos);
+        }
+    }
+
+    public void messageReceived(String message) {
+        bytesReceived.add(utf8Length(message));
+    }
+
+    public void eventReceived(String method) {
+        eventsReceived.increment();
+        int separator = method.indexOf('.');
+        String domain = separator > 0 ? method.substring(0, separator) : method;
+        eventsPerDomain.computeIfAbsent(domain, key -> new LongAdder()).increment();
+    }
+
+    public Snapshot snapshot() {
+        Map<String, LatencyHistogram.Snapshot> latencySnapshots = new TreeMap<>();
+        latencies.forEach((method, histogram) -> latencySnapshots.put(method, histogram.snapshot()));
+        return new Snapshot(getUptimeMs(), getInFlightCommands(), getCommandsSent(), getBytesSent(), getBytesReceived(),
+                            getEventsReceived(), getTimeouts(), latencySnapshots, getEventsPerDomain(),
+                            getTimeoutsPerMethod());
+    }
+
+    public void register(String name) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            objectName = new ObjectName("io.playground.scraper:type=DevToolsMetrics,id=" 
+                                                + instanceCounter.incrementAndGet() + ",name=" + ObjectName.quote(name));
+            server.registerMBean(this, objectName);
+        } catch (Exception e) {
+            log.warn("Couldn't register DevTools metrics MBean: {}", e.getMessage());
+            objectName = null;
+        }
+    }
+
+    public void unregister() {
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (Exception ignored) {
+            }
+            objectName = null;
+        }
+    }
+
+    public long getUptimeMs() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    @Override
+    public long getInFlightCommands() {
+        return inFlightCommands.sum();
+    }
+
+    @Override
+    public long getCommandsSent() {
+        return commandsSent.sum();
+    }
+
+    @Override
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    @Override
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    @Override
+    public long getEventsReceived() {
+        return eventsReceived.sum();
+    }
+
+    @Override
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    @Override
+    public Map<String, Long> getEventsPerDomain() {
+        return sums(eventsPerDomain);
+    }
+
+    @Override
+    public Map<String, Double> getEventRatesPerDomain() {
+        double uptimeSeconds = Math.max(1, getUptimeMs()) / 1000.0;
+        Map<String, Double> rates = new TreeMap<>();
+        getEventsPerDomain().forEach((domain, count) -> rates.put(domain, count / uptimeSeconds));
+        return rates;
+    }
+
+    @Override
+    public Map<String, Long> getTimeoutsPerMethod() {
+        return sums(timeoutsPerMethod);
+    }
+
+    @Override
+    public Map<String, Double> getMeanLatencyMsPerMethod() {
+        return latencies(LatencyHistogram.Snapshot::meanMs);
+    }
+
+    @Override
+    public Map<String, Double> getP99LatencyMsPerMethod() {
+        return latencies(LatencyHistogram.Snapshot::p99Ms);
+    }
+
+    @Override
+    public void reset() {
+        latencies.clear();
+        timeoutsPerMethod.clear();
+        eventsPerDomain.clear();
+        commandsSent.reset();
+        bytesSent.reset();
+        bytesReceived.reset();
+        eventsReceived.reset();
+        timeouts.reset();
+        startNanos = System.nanoTime();
+    }
+
+    static long utf8Length(String message) {
+        long bytes = 0;
+        int length = message.length();
+        for (int i = 0; i < length; i++) {
+            char c = message.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length 
+                    && Character.isLowSurrogate(message.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                // an unpaired surrogate is written as the single byte replacement '?'
+                bytes++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private static Map<String, Long> sums(Map<String, LongAdder> adders) {
+        Map<String, Long> sums = new TreeMap<>();
+        adders.forEach((key, adder) -> sums.put(key, adder.sum()));
+        return sums;
+    }
+
+    private Map<String, Double> latencies(Function<LatencyHistogram.Snapshot, Double> metric) {
+        Map<String, Double> values = new TreeMap<>();
+        latencies.forEach((method, histogram) -> values.put(method, metric.apply(histogram.snapshot())));
+        return values;
+    }
+}
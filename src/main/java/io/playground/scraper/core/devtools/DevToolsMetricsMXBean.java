@@ -0,0 +1,30 @@
+package io.playground.scraper.core.devtools;
+
+import java.util.Map;
+
+public interface DevToolsMetricsMXBean {
+
+    long getInFlightCommands();
+
+    long getCommandsSent();
+
+    long getBytesSent();
+
+    long getBytesReceived();
+
+    long getEventsReceived();
+
+    long getTimeouts();
+
+    Map<String, Long> getEventsPerDomain();
+
+    Map<String, Double> getEventRatesPerDomain();
+
+    Map<String, Long> getTimeoutsPerMethod();
+
+    Map<String, Double> getMeanLatencyMsPerMethod();
+
+    Map<String, Double> getP99LatencyMsPerMethod();
+
+    void reset();
+}
@@ -0,0 +1,98 @@
+package io.playground.scraper.core.devtools;
+
+import io.playground.scraper.core.DevToolsClient;
+import io.playground.scraper.model.response.stream.StreamChunk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Reads a CDP stream handle (e.g. from Page.printToPDF with transferMode ReturnAsStream) chunk by chunk through
+ * IO.read, so only one chunk is held in memory at a time. Closing the stream releases the handle with IO.close.
+ */
+public class DevToolsStream extends InputStream {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private final DevToolsClient client;
+    private final String handle;
+    private final int chunkSize;
+    private byte[] chunk = new byte[0];
+    private int position;
+    private boolean eof;
+    private boolean closed;
+
+    public DevToolsStream(DevToolsClient client, String handle) {
+        this(client, handle, DEFAULT_CHUNK_SIZE);
+    }
+
+    public DevToolsStream(DevToolsClient client, String handle, int chunkSize) {
+        this.client = client;
+        this.handle = handle;
+        this.chunkSize = chunkSize;
+    }
+
+    public String getHandle() {
+        return handle;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return chunk[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        if (length == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int count = Math.min(length, chunk.length - position);
+        System.arraycopy(chunk, position, bytes, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return chunk.length - position;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            chunk = new byte[0];
+            client.closeStream(handle);
+        }
+    }
+
+    private boolean fill() throws IOException {
+        while (position >= chunk.length) {
+            if (closed) {
+                throw new IOException("Stream " + handle + " is closed!");
+            }
+            if (eof) {
+                return false;
+            }
+            StreamChunk streamChunk = client.readStream(handle, chunkSize);
+            if (streamChunk == null) {
+                throw new IOException("Couldn't read stream " + handle + "!");
+            }
+            String data = streamChunk.data() != null ? streamChunk.data() : "";
+            chunk = streamChunk.isBase64Encoded() ? Base64.getDecoder().decode(data) : data.getBytes(StandardCharsets.UTF_8);
+            position = 0;
+            eof = streamChunk.isEof();
+        }
+        return true;
+    }
+}
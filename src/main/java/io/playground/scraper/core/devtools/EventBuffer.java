@@ -0,0 +1,145 @@
+package io.playground.scraper.core.devtools;
+
+import io.playground.scraper.model.chromedevtools.DevToolsPayload;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+/**
+ * Fixed-capacity history of CDP events. Every event gets a sequence number, events of the same method are indexed
+ * so lookups don't scan unrelated history, and waiters are completed as soon as a matching event is added.
+ */
+@Slf4j
+public class EventBuffer {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final int capacity;
+    private final DevToolsPayload[] ring;
+    private final Map<String, Deque<Long>> methodIndex = new HashMap<>();
+    private final Map<String, List<EventWaiter>> waiters = new HashMap<>();
+    private long sequence;
+    private volatile long lastEventNanos = System.nanoTime();
+
+    private record EventWaiter(Predicate<DevToolsPayload> predicate, CompletableFuture<DevToolsPayload> future) {}
+
+    public EventBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public EventBuffer(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.ring = new DevToolsPayload[this.capacity];
+    }
+
+    public void add(DevToolsPayload event) {
+        String method = event.getMethod();
+        List<EventWaiter> matched = new ArrayList<>();
+        synchronized (this) {
+            long eventSequence = sequence++;
+            int slot = (int) (eventSequence % capacity);
+            DevToolsPayload evicted = ring[slot];
+            if (evicted != null) {
+                Deque<Long> evictedIndex = methodIndex.get(evicted.getMethod());
+                if (evictedIndex != null) {
+                    evictedIndex.pollFirst();
+                    if (evictedIndex.isEmpty()) {
+                        methodIndex.remove(evicted.getMethod());
+                    }
+                }
+            }
+            ring[slot] = event;
+            methodIndex.computeIfAbsent(method, key -> new ArrayDeque<>()).addLast(eventSequence);
+            lastEventNanos = System.nanoTime();
+
+            List<EventWaiter> methodWaiters = waiters.get(method);
+            if (methodWaiters != null) {
+                Iterator<EventWaiter> iterator = methodWaiters.iterator();
+                while (iterator.hasNext()) {
+                    EventWaiter waiter = iterator.next();
+                    if (waiter.future().isDone()) {
+                        iterator.remove();
+                    } else if (test(waiter.predicate(), event)) {
+                        iterator.remove();
+                        matched.add(waiter);
+                    }
+                }
+                if (methodWaiters.isEmpty()) {
+                    waiters.remove(method);
+                }
+            }
+        }
+
+        for (EventWaiter waiter : matched) {
+            waiter.future().complete(event);
+        }
+    }
+
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    public long getLastEventNanos() {
+        return lastEventNanos;
+    }
+
+    public synchronized Optional<DevToolsPayload> findLast(String method, long from) {
+        return Optional.ofNullable(findLast(method, from, null));
+    }
+
+    public CompletableFuture<DevToolsPayload> await(String method, long from, Predicate<DevToolsPayload> predicate) {
+        CompletableFuture<DevToolsPayload> future = new CompletableFuture<>();
+        synchronized (this) {
+            DevToolsPayload existing = findLast(method, from, predicate);
+            if (existing == null) {
+                EventWaiter waiter = new EventWaiter(predicate, future);
+                waiters.computeIfAbsent(method, key -> new ArrayList<>()).add(waiter);
+                future.whenComplete((event, throwable) -> removeWaiter(method, waiter));
+                return future;
+            }
+            future.complete(existing);
+        }
+        return future;
+    }
+
+    private DevToolsPayload findLast(String method, long from, Predicate<DevToolsPayload> predicate) {
+        Deque<Long> index = methodIndex.get(method);
+        if (index == null) {
+            return null;
+        }
+        long oldest = Math.max(from, sequence - capacity);
+        Iterator<Long> iterator = index.descendingIterator();
+        while (iterator.hasNext()) {
+            long eventSequence = iterator.next();
+            if (eventSequence < oldest) {
+                break;
+            }
+            DevToolsPayload event = ring[(int) (eventSequence % capacity)];
+            if (predicate == null || test(predicate, event)) {
+                return event;
+            }
+        }
+        return null;
+    }
+
+    private synchronized void removeWaiter(String method, EventWaiter waiter) {
+        List<EventWaiter> methodWaiters = waiters.get(method);
+        if (methodWaiters != null) {
+            methodWaiters.remove(waiter);
+            if (methodWaiters.isEmpty()) {
+                waiters.remove(method);
+            }
+        }
+    }
+
+    private boolean test(Predicate<DevToolsPayload> predicate, DevToolsPayload event) {
+        try {
+            return predicate.test(event);
+        } catch (Exception e) {
+            log.warn("Event predicate failed for '{}': {}", event.getMethod(), e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package io.playground.scraper.core.devtools;
+
+import io.playground.scraper.model.chromedevtools.DevToolsPayload;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Runs CDP event handlers on virtual threads so the websocket thread only decodes and routes. Handlers are registered
+ * per method ("Network.requestWillBeSent"), per domain ("Network") or for every event ({@link #ALL_EVENTS}).
+ * Fetch and Network events are ordered per requestId, so one slow request never blocks the others. Screencast frames
+ * get a lane of their own, so a slow frame consumer never delays navigation, context or crash events; every other
+ * event of a session is handled in arrival order.
+ */
+@Slf4j
+public class EventDispatcher {
+
+    public static final String ALL_EVENTS = "*";
+    private static final String SESSION_LANE = "";
+    private static final String SCREENCAST_LANE = "Page.screencastFrame";
+    private static final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("devtools-event-", 0).factory());
+
+    private final Map<String, List<Consumer<DevToolsPayload>>> handlers = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Void>> lanes = new ConcurrentHashMap<>();
+
+    public Subscription register(String methodOrDomain, Consumer<DevToolsPayload> handler) {
+        List<Consumer<DevToolsPayload>> registered = handlers.computeIfAbsent(methodOrDomain, 
+                                                                              key -> new CopyOnWriteArrayList<>());
+        registered.add(handler);
+        return () -> registered.remove(handler);
+    }
+
+    public void dispatch(DevToolsPayload event) {
+        String lane = laneOf(event);
+        CompletableFuture<?>[] next = new CompletableFuture<?>[1];
+        lanes.compute(lane, (key, tail) -> {
+            CompletableFuture<Void> previous = tail != null ? tail : CompletableFuture.completedFuture(null);
+            CompletableFuture<Void> task = previous.thenRunAsync(() -> handle(event), executor);
+            next[0] = task;
+            return task;
+        });
+        CompletableFuture<?> task = next[0];
+        task.whenComplete((result, throwable) -> lanes.remove(lane, task));
+    }
+
+    private void handle(DevToolsPayload event) {
+        String method = event.getMethod();
+        int separator = method.indexOf('.');
+        invoke(handlers.get(method), event);
+        if (separator > 0) {
+            invoke(handlers.get(method.substring(0, separator)), event);
+        }
+        invoke(handlers.get(ALL_EVENTS), event);
+    }
+
+    private void invoke(List<Consumer<DevToolsPayload>> registered, DevToolsPayload event) {
+        if (registered == null) {
+            return;
+        }
+        for (Consumer<DevToolsPayload> handler : registered) {
+            try {
+                handler.accept(event);
+            } catch (Exception e) {
+                log.error("Event handler failed for '{}': {}", event.getMethod(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private static String laneOf(DevToolsPayload event) {
+        String method = event.getMethod();
+        if (method.equals(SCREENCAST_LANE)) {
+            return SCREENCAST_LANE;
+        }
+        if ((method.startsWith("Fetch.") || method.startsWith("Network.")) && event.getRequestId() != null) {
+            return method.substring(0, method.indexOf('.')) + ":" + event.getRequestId();
+        }
+        return SESSION_LANE;
+    }
+}
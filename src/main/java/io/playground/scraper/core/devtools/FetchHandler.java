@@ -0,0 +1,14 @@
+package io.playground.scraper.core.devtools;
+
+import io.playground.scraper.core.DevToolsClient;
+import io.playground.scraper.model.chromedevtools.DevToolsPayload;
+
+/**
+ * Hook for paused Fetch requests (Fetch.requestPaused / Fetch.authRequired). Return true when the hook has resolved
+ * the request itself (continue, fail, fulfill or auth), otherwise the client falls back to its default handling.
+ */
+@FunctionalInterface
+public interface FetchHandler {
+
+    boolean handle(DevToolsClient client, DevToolsPayload event);
+}
@@ -0,0 +1,129 @@
+package io.playground.scraper.core.devtools;
+
+import org.openqa.selenium.WebDriverException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * Named helper functions that are installed once per execution context and then invoked by name. The install script
+ * puts every function on a namespace object of the isolated world, so the page never sees it; each call afterwards
+ * only sends a one-line invoker instead of the full function source. Contexts are tracked by id together with the
+ * registry version they received, so new contexts (after navigation or in another frame) and newly defined functions
+ * trigger a reinstall on the next call. Calls into a context wait for its install to complete, and an invoker whose
+ * function is missing throws an error recognized by {@link #isNotInstalledError(String)}.
+ */
+public class FunctionRegistry {
+
+    private static final String NAMESPACE = "__" + ContextRegistry.ISOLATED_WORLD_NAME + "Functions";
+    private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z_$][A-Za-z0-9_$]*");
+    private static final int MAX_TRACKED_CONTEXTS = 64;
+    private static final String NOT_INSTALLED = "is not installed";
+
+    private final Map<String, String> functions = new ConcurrentHashMap<>();
+    private final Map<String, String> invokers = new ConcurrentHashMap<>();
+    private final Map<Integer, Installation> installed = new ConcurrentHashMap<>();
+    private final AtomicInteger version = new AtomicInteger();
+    private volatile String installScript;
+
+    public void define(String name, String functionDeclaration) {
+        if (!NAME_PATTERN.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid function name: " + name);
+        }
+        if (!functionDeclaration.equals(functions.put(name, functionDeclaration))) {
+            installScript = null;
+            version.incrementAndGet();
+        }
+    }
+
+    public void defineIfAbsent(String name, String functionDeclaration) {
+        if (!functions.containsKey(name)) {
+            define(name, functionDeclaration);
+        }
+    }
+
+    public boolean isDefined(String name) {
+        return functions.containsKey(name);
+    }
+
+    public int getVersion() {
+        return version.get();
+    }
+
+    public String getInvoker(String name) {
+        if (!functions.containsKey(name)) {
+            throw new IllegalArgumentException("Function " + name + " is not defined!");
+        }
+        return invokers.computeIfAbsent(name, key -> "function(...args) { const fn = globalThis." + NAMESPACE + "?." 
+                + key + "; if (!fn) throw new ReferenceError('" + NAMESPACE + "." + key + " " + NOT_INSTALLED + "'); "
+                + "return fn.apply(this, args); }");
+    }
+
+    public String getInstallScript() {
+        String script = installScript;
+        if (script == null) {
+            StringBuilder builder = new StringBuilder("(() => { const ns = globalThis.").append(NAMESPACE)
+                    .append(" || (globalThis.").append(NAMESPACE).append(" = Object.create(null));\n");
+            functions.forEach((name, declaration) -> builder.append("ns.").append(name).append(" = (")
+                    .append(declaration).append(");\n"));
+            script = builder.append("})()").toString();
+            installScript = script;
+        }
+        return script;
+    }
+
+    /**
+     * Returns the install of the current version into the context. The first caller for a version starts it through
+     * the given sender, which evaluates the script and reports whether it succeeded; concurrent callers share the same
+     * future. A failed install is forgotten, so the next call starts it again.
+     */
+    public CompletableFuture<Void> install(int executionContextId, 
+                                           Function<String, CompletableFuture<Boolean>> sender) {
+        int current = version.get();
+        Installation[] started = new Installation[1];
+        Installation installation = installed.compute(executionContextId, (key, previous) -> {
+            if (previous != null && previous.version() == current) {
+                return previous;
+            }
+            started[0] = new Installation(current, new CompletableFuture<>());
+            return started[0];
+        });
+        if (started[0] != null) {
+            sender.apply(getInstallScript()).whenComplete((succeeded, error) -> {
+                if (error == null && Boolean.TRUE.equals(succeeded)) {
+                    installation.done().complete(null);
+                    return;
+                }
+                installed.remove(executionContextId, installation);
+                installation.done().completeExceptionally(error != null ? error : new WebDriverException(
+                        "Failed to install functions into execution context " + executionContextId));
+            });
+        }
+        return installation.done();
+    }
+
+    public boolean isNotInstalledError(String description) {
+        return description != null && description.contains(NAMESPACE) && description.contains(NOT_INSTALLED);
+    }
+
+    public void forget(int executionContextId) {
+        installed.remove(executionContextId);
+    }
+
+    public void retain(IntPredicate live) {
+        if (installed.size() > MAX_TRACKED_CONTEXTS) {
+            installed.keySet().removeIf(executionContextId -> !live.test(executionContextId));
+        }
+    }
+
+    public void clear() {
+        installed.clear();
+    }
+
+    private record Installation(int version, CompletableFuture<Void> done) {}
+}
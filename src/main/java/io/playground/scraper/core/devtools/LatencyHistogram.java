@@ -0,0 +1,73 @@
+package io.playground.scraper.core.devtools;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two microsecond buckets (1 us .. ~35 min), cheap enough to record every
+ * CDP command. Percentiles are reported as the upper bound of the bucket they fall into, capped at the maximum seen.
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKET_COUNT = 32;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public record Snapshot(long count, double meanMs, double p50Ms, double p90Ms, double p99Ms, double maxMs) {}
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos));
+        int bucket = Math.min(BUCKET_COUNT - 1, 63 - Long.numberOfLeadingZeros(micros));
+        buckets[bucket].increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return new Snapshot(0, 0, 0, 0, 0, 0);
+        }
+        double maxMs = maxNanos.get() / 1_000_000.0;
+        return new Snapshot(total,
+                            totalNanos.sum() / 1_000_000.0 / total,
+                            Math.min(maxMs, percentile(counts, total, 0.50)),
+                            Math.min(maxMs, percentile(counts, total, 0.90)),
+                            Math.min(maxMs, percentile(counts, total, 0.99)),
+                            maxMs);
+    }
+
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    private static double percentile(long[] counts, long total, double percentile) {
+        long threshold = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= threshold) {
+                return (1L << (i + 1)) / 1000.0;
+            }
+        }
+        return (1L << counts.length) / 1000.0;
+    }
+}
@@ -0,0 +1,131 @@
+package io.playground.scraper.core.devtools;
+
+import io.playground.scraper.core.locator.LocatorStrategy;
+
+/**
+ * The built-in helper functions every page session registers. Each is invoked with the target object as
+ * {@code this}.
+ */
+public final class PageFunctions {
+
+    public static final String RECT = "rect";
+    public static final String CLIP = "clip";
+    public static final String SNAPSHOT = "snapshot";
+    public static final String SUBMIT = "submit";
+    public static final String CLEAR = "clear";
+    public static final String PROPERTY = "property";
+    public static final String SCROLL_TO = "scrollTo";
+
+    private static final String RECT_FUNCTION = """
+            function() {
+                const clientRect = this.getBoundingClientRect();
+                return {
+                    x: clientRect.x,
+                    y: clientRect.y,
+                    width: clientRect.width,
+                    height: clientRect.height,
+                    scrollLeft: this.scrollLeft,
+                    scrollTop: this.scrollTop,
+                    clientLeft: this.clientLeft,
+                    clientTop: this.clientTop,
+                    clientWidth: this.clientWidth,
+                    clientHeight: this.clientHeight,
+                };
+            }""";
+    private static final String CLIP_FUNCTION = """
+            function() {
+                const clientRect = this.getBoundingClientRect();
+                return {
+                    x: clientRect.x + window.scrollX,
+                    y: clientRect.y + window.scrollY,
+                    width: Math.ceil(clientRect.width),
+                    height: Math.ceil(clientRect.height),
+                    scale: 1
+                };
+            }""";
+    private static final String SNAPSHOT_FUNCTION = """
+            function(query) {
+                const snapshot = {};
+                if (query.tagName) {
+                    snapshot.tagName = this.tagName;
+                }
+                if (query.text) {
+                    const text = this.value ?? this.outerText ?? this.innerText;
+                    snapshot.text = text == null ? null : String(text);
+                }
+                if (query.rect || query.displayed) {
+                    const clientRect = this.getBoundingClientRect();
+                    if (query.rect) {
+                        snapshot.rect = {
+                            x: clientRect.x,
+                            y: clientRect.y,
+                            width: clientRect.width,
+                            height: clientRect.height,
+                            scrollLeft: this.scrollLeft,
+                            scrollTop: this.scrollTop,
+                            clientLeft: this.clientLeft,
+                            clientTop: this.clientTop,
+                            clientWidth: this.clientWidth,
+                            clientHeight: this.clientHeight,
+                        };
+                    }
+                    if (query.displayed) {
+                        const html = document.documentElement;
+                        snapshot.displayed = !!html && clientRect.bottom >= 0 && clientRect.right >= 0
+                            && clientRect.top <= (window.innerHeight || html.clientHeight)
+                            && clientRect.left <= (window.innerWidth || html.clientWidth);
+                    }
+                }
+                if (query.attributes.length > 0) {
+                    snapshot.attributes = {};
+                    for (const name of query.attributes) {
+                        snapshot.attributes[name] = this.getAttribute(name);
+                    }
+                }
+                if (query.cssProperties.length > 0) {
+                    const style = window.getComputedStyle(this);
+                    snapshot.cssValues = {};
+                    for (const name of query.cssProperties) {
+                        snapshot.cssValues[name] = style.getPropertyValue(name);
+                    }
+                }
+                return snapshot;
+            }""";
+    private static final String SUBMIT_FUNCTION = """
+            function() {
+                let form = this;
+                while (form.nodeName != 'FORM' && form.parentNode) {
+                    form = form.parentNode;
+                }
+                if (!form) {
+                    throw Error('Unable to find containing form element');
+                }
+                if (!form.ownerDocument) {
+                    throw Error('Unable to find owning document');
+                }
+                const e = form.ownerDocument.createEvent('Event');
+                e.initEvent('submit', true, true);
+                if (form.dispatchEvent(e)) {
+                    HTMLFormElement.prototype.submit.call(form);
+                }
+            }""";
+    private static final String CLEAR_FUNCTION = "function() { this.value = ''; }";
+    private static final String PROPERTY_FUNCTION = "function(name) { return this[name]; }";
+    private static final String SCROLL_TO_FUNCTION = "function(rect) { this.scrollTo(rect.x, rect.y); }";
+
+    private PageFunctions() {}
+
+    public static void registerDefaults(FunctionRegistry registry) {
+        registry.define(RECT, RECT_FUNCTION);
+        registry.define(CLIP, CLIP_FUNCTION);
+        registry.define(SNAPSHOT, SNAPSHOT_FUNCTION);
+        registry.define(SUBMIT, SUBMIT_FUNCTION);
+        registry.define(CLEAR, CLEAR_FUNCTION);
+        registry.define(PROPERTY, PROPERTY_FUNCTION);
+        registry.define(SCROLL_TO, SCROLL_TO_FUNCTION);
+        for (LocatorStrategy strategy : LocatorStrategy.values()) {
+            registry.define(strategy.getFirstMatchName(), strategy.getFirstMatchFunction());
+            registry.define(strategy.getAllMatchesName(), strategy.getAllMatchesFunction());
+        }
+    }
+}
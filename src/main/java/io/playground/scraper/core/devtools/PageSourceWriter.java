@@ -0,0 +1,137 @@
+package io.playground.scraper.core.devtools;
+
+import io.playground.scraper.core.DevToolsClient;
+import io.playground.scraper.model.response.ScriptNode;
+import io.playground.scraper.model.response.html.PageSourceOptions;
+import io.playground.scraper.model.response.html.PageSourceResult;
+import org.openqa.selenium.WebDriverException;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports the serialized document without holding it in the JVM. The document is serialized once in the browser and
+ * kept there as a remote object; slices of it are then pulled with Runtime.callFunctionOn and written to the output as
+ * they arrive, with the next slice already requested while the current one is encoded. Scripts and styles can be
+ * stripped from a detached clone before serialization, so they never cross the wire.
+ */
+public class PageSourceWriter {
+
+    private static final String SERIALIZE = "serializeDocument";
+    private static final String SLICE = "sliceDocument";
+    private static final String SERIALIZE_FUNCTION = """
+            function(stripScripts, stripStyles) {
+                let root = this.documentElement;
+                if (root && (stripScripts || stripStyles)) {
+                    root = root.cloneNode(true);
+                    const selectors = [];
+                    if (stripScripts) {
+                        selectors.push('script', 'noscript');
+                    }
+                    if (stripStyles) {
+                        selectors.push('style', 'link[rel~="stylesheet" i]');
+                    }
+                    root.querySelectorAll(selectors.join(',')).forEach(element => element.remove());
+                }
+                const doctype = this.doctype ? new XMLSerializer().serializeToString(this.doctype) : '';
+                return { html: doctype + (root ? root.outerHTML : '') };
+            }""";
+    private static final String SLICE_FUNCTION = """
+            function(start, length) {
+                const html = this.html;
+                let end = Math.min(html.length, start + length);
+                if (end < html.length && end > start + 1) {
+                    const code = html.charCodeAt(end - 1);
+                    if (code >= 0xD800 && code <= 0xDBFF) {
+                        end--;
+                    }
+                }
+                return html.substring(start, end);
+            }""";
+
+    private final DevToolsClient client;
+
+    public PageSourceWriter(DevToolsClient client) {
+        this.client = client;
+        client.getFunctions().defineIfAbsent(SERIALIZE, SERIALIZE_FUNCTION);
+        client.getFunctions().defineIfAbsent(SLICE, SLICE_FUNCTION);
+    }
+
+    public PageSourceResult write(OutputStream output, PageSourceOptions options) throws IOException {
+        ScriptNode serialized = client.callFunction(client.getRootObjectId(), SERIALIZE, "idOnly",
+                                                    options.stripScripts(), options.stripStyles());
+        if (serialized == null || serialized.result() == null || serialized.result().objectId() == null) {
+            throw new WebDriverException("Couldn't serialize page source!");
+        }
+        String htmlObjectId = serialized.result().objectId();
+        try {
+            return transfer(htmlObjectId, output, options);
+        } finally {
+            client.releaseObject(htmlObjectId);
+        }
+    }
+
+    private PageSourceResult transfer(String htmlObjectId, OutputStream output, PageSourceOptions options) 
+            throws IOException {
+        CountingOutputStream counter = new CountingOutputStream(output);
+        OutputStream target = options.gzip() ? new GZIPOutputStream(counter, 64 * 1024) : counter;
+        int chunkSize = options.getChunkSize();
+        long characters = 0;
+        long sourceBytes = 0;
+        int chunks = 0;
+        CompletableFuture<ScriptNode> next = requestSlice(htmlObjectId, 0, chunkSize);
+        while (true) {
+            String slice = readSlice(next.join());
+            if (slice.isEmpty()) {
+                break;
+            }
+            characters += slice.length();
+            next = requestSlice(htmlObjectId, characters, chunkSize);
+            byte[] bytes = slice.getBytes(StandardCharsets.UTF_8);
+            target.write(bytes);
+            sourceBytes += bytes.length;
+            chunks++;
+        }
+        if (target instanceof GZIPOutputStream gzip) {
+            gzip.finish();
+        }
+        target.flush();
+        return new PageSourceResult(characters, sourceBytes, counter.count, chunks);
+    }
+
+    private CompletableFuture<ScriptNode> requestSlice(String htmlObjectId, long start, int length) {
+        return client.callFunctionAsync(htmlObjectId, SLICE, "json", start, length);
+    }
+
+    private static String readSlice(ScriptNode scriptNode) {
+        if (scriptNode == null || scriptNode.result() == null) {
+            throw new WebDriverException("Couldn't read page source chunk!");
+        }
+        return scriptNode.result().value() instanceof String slice ? slice : "";
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream output) {
+            super(output);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            count += length;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package io.playground.scraper.core.devtools;
+
+import io.playground.scraper.model.chromedevtools.DevToolsMethod;
+import io.playground.scraper.model.chromedevtools.DevToolsPayload;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks in-flight network requests of a page from Network.requestWillBeSent/loadingFinished/loadingFailed and
+ * Page.lifecycleEvent, and completes waiters as soon as the page has had at most N requests in flight for a quiet
+ * window. Chrome's own networkIdle lifecycle event of the main frame clears the main frame's requests that never report
+ * completion (long polls, beacons); networkIdle of a child frame (ads, trackers) clears nothing.
+ */
+public class PageStabilityTracker {
+
+    private final Map<String, RequestOrigin> inFlightRequests = new HashMap<>();
+    private final List<IdleWaiter> waiters = new ArrayList<>();
+    private long lastActivityNanos = System.nanoTime();
+    private String mainFrameId;
+    private ScheduledFuture<?> pendingCheck;
+
+    private record RequestOrigin(String frameId, String loaderId) {}
+
+    private record IdleWaiter(CompletableFuture<Void> future, long quietWindowNanos, int maxInflightRequests) {}
+
+    public void register(EventDispatcher dispatcher) {
+        dispatcher.register(DevToolsMethod.NETWORK_REQUEST_WILL_BE_SENT.getMethod(), this::onRequestStarted);
+        dispatcher.register(DevToolsMethod.NETWORK_LOADING_FINISHED.getMethod(), this::onRequestFinished);
+        dispatcher.register(DevToolsMethod.NETWORK_LOADING_FAILED.getMethod(), this::onRequestFinished);
+        dispatcher.register(DevToolsMethod.PAGE_LIFECYCLE_EVENT.getMethod(), this::onLifecycleEvent);
+        dispatcher.register(DevToolsMethod.PAGE_FRAME_NAVIGATED.getMethod(), this::onFrameNavigated);
+    }
+
+    public synchronized int getInflightRequestCount() {
+        return inFlightRequests.size();
+    }
+
+    public synchronized void markActivity() {
+        lastActivityNanos = System.nanoTime();
+        check();
+    }
+
+    public CompletableFuture<Void> awaitIdle(Duration quietWindow, int maxInflightRequests) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        synchronized (this) {
+            waiters.add(new IdleWaiter(future, quietWindow.toNanos(), maxInflightRequests));
+            check();
+        }
+        return future;
+    }
+
+    private void onRequestStarted(DevToolsPayload event) {
+        String requestId = requestIdOf(event);
+        synchronized (this) {
+            if (requestId != null) {
+                inFlightRequests.put(requestId, new RequestOrigin(stringParam(event, "frameId"), 
+                                                                  stringParam(event, "loaderId")));
+            }
+            markActivity();
+        }
+    }
+
+    private void onRequestFinished(DevToolsPayload event) {
+        String requestId = requestIdOf(event);
+        synchronized (this) {
+            if (requestId != null) {
+                inFlightRequests.remove(requestId);
+            }
+            markActivity();
+        }
+    }
+
+    private void onLifecycleEvent(DevToolsPayload event) {
+        String name = stringParam(event, "name");
+        String frameId = stringParam(event, "frameId");
+        String loaderId = stringParam(event, "loaderId");
+        if ("networkIdle".equals(name)) {
+            synchronized (this) {
+                if (frameId != null && frameId.equals(mainFrameId)) {
+                    inFlightRequests.values().removeIf(origin -> frameId.equals(origin.frameId())
+                            || (loaderId != null && loaderId.equals(origin.loaderId())));
+                    check();
+                }
+            }
+        } else if ("init".equals(name)) {
+            markActivity();
+        }
+    }
+
+    private void onFrameNavigated(DevToolsPayload event) {
+        if (event.hasParam() && event.getParams().get("frame") instanceof Map<?, ?> frame 
+                && frame.get("parentId") == null && frame.get("id") instanceof String frameId) {
+            synchronized (this) {
+                mainFrameId = frameId;
+            }
+        }
+    }
+
+    private void check() {
+        if (pendingCheck != null) {
+            pendingCheck.cancel(false);
+            pendingCheck = null;
+        }
+        long now = System.nanoTime();
+        long nextCheck = Long.MAX_VALUE;
+        Iterator<IdleWaiter> iterator = waiters.iterator();
+        while (iterator.hasNext()) {
+            IdleWaiter waiter = iterator.next();
+            if (waiter.future().isDone()) {
+                iterator.remove();
+            } else if (inFlightRequests.size() <= waiter.maxInflightRequests()) {
+                long remaining = waiter.quietWindowNanos() - (now - lastActivityNanos);
+                if (remaining <= 0) {
+                    iterator.remove();
+                    waiter.future().complete(null);
+                } else {
+                    nextCheck = Math.min(nextCheck, remaining);
+                }
+            }
+        }
+        if (nextCheck != Long.MAX_VALUE) {
+            pendingCheck = DevToolsConnection.getScheduler().schedule(this::scheduledCheck, nextCheck, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private synchronized void scheduledCheck() {
+        check();
+    }
+
+    private static String requestIdOf(DevToolsPayload event) {
+        return stringParam(event, "requestId");
+    }
+
+    private static String stringParam(DevToolsPayload event, String name) {
+        if (event.hasParam() && event.getParams().get(name) instanceof String value) {
+            return value;
+        }
+        return null;
+    }
+}
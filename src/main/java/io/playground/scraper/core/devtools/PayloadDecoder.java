@@ -0,0 +1,122 @@
+package io.playground.scraper.core.devtools;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.playground.scraper.model.chromedevtools.DevToolsError;
+import io.playground.scraper.model.chromedevtools.DevToolsPayload;
+import io.playground.scraper.util.JacksonUtil;
+
+import java.io.IOException;
+
+/**
+ * Streams through an incoming CDP frame once. Only the routing fields (id, method, sessionId, and a top-level
+ * requestId of the params) are decoded eagerly; result and params are kept as raw tokens so they can be bound
+ * straight into the response record a caller needs.
+ */
+public class PayloadDecoder {
+
+    private static final String EXCEPTION_DETAILS = "exceptionDetails";
+    private static final String REQUEST_ID = "requestId";
+
+    private PayloadDecoder() {}
+
+    public static DevToolsPayload decode(String message) {
+        try (JsonParser parser = JacksonUtil.createParser(message)) {
+            return decode(parser);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static DevToolsPayload decode(JsonParser parser) throws IOException {
+        DevToolsPayload.DevToolsPayloadBuilder builder = DevToolsPayload.builder();
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("CDP frame is not a JSON object!");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> builder.id(parser.getIntValue());
+                case "method" -> builder.method(parser.getText());
+                case "sessionId" -> builder.sessionId(parser.getText());
+                case "error" -> builder.error(JacksonUtil.readValue(parser, DevToolsError.class));
+                case "result" -> {
+                    if (value == JsonToken.START_OBJECT) {
+                        RawObject raw = copyObject(parser);
+                        builder.rawResult(raw.buffer())
+                               .emptyResult(raw.fieldCount() == 0)
+                               .exceptionDetails(raw.exceptionDetails());
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case "params" -> {
+                    if (value == JsonToken.START_OBJECT) {
+                        RawObject raw = copyObject(parser);
+                        builder.rawParams(raw.buffer())
+                               .requestId(raw.requestId());
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Best-effort lookup of the top-level id of a frame that failed to decode, so its pending command can be failed.
+     */
+    public static Integer peekId(String message) {
+        try (JsonParser parser = JacksonUtil.createParser(message)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (field.equals("id")) {
+                    return value == JsonToken.VALUE_NUMBER_INT ? parser.getIntValue() : null;
+                }
+                parser.skipChildren();
+            }
+        } catch (Exception ignored) {
+        }
+        return null;
+    }
+
+    private record RawObject(TokenBuffer buffer, int fieldCount, boolean exceptionDetails, String requestId) {}
+
+    private static RawObject copyObject(JsonParser parser) throws IOException {
+        TokenBuffer buffer = new TokenBuffer(parser);
+        int depth = 0;
+        int fieldCount = 0;
+        boolean exceptionDetails = false;
+        boolean requestIdValue = false;
+        String requestId = null;
+        JsonToken token = parser.currentToken();
+        do {
+            if (requestIdValue) {
+                requestIdValue = false;
+                if (token.isScalarValue()) {
+                    requestId = parser.getText();
+                }
+            }
+            if (token == JsonToken.FIELD_NAME && depth == 1) {
+                fieldCount++;
+                exceptionDetails |= EXCEPTION_DETAILS.equals(parser.currentName());
+                requestIdValue = REQUEST_ID.equals(parser.currentName());
+            }
+            buffer.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+        } while (depth > 0 && (token = parser.nextToken()) != null);
+        return new RawObject(buffer, fieldCount, exceptionDetails, requestId);
+    }
+}
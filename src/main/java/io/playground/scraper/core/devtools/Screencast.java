@@ -0,0 +1,86 @@
+package io.playground.scraper.core.devtools;
+
+import io.playground.scraper.core.DevToolsClient;
+import io.playground.scraper.model.chromedevtools.DevToolsMethod;
+import io.playground.scraper.model.response.screenshot.ScreencastFrame;
+import io.playground.scraper.model.response.screenshot.ScreencastOptions;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Continuous capture through Page.startScreencast. Chrome pushes encoded frames as Page.screencastFrame events; each
+ * frame is acknowledged only after the consumer returns, so a slow consumer throttles the browser instead of queueing
+ * frames in memory. Frames run on their own dispatcher lane and are kept out of the event buffer, so neither the
+ * session's other events nor {@code waitForEvent} are affected. Closing the screencast stops it and removes the frame
+ * handler.
+ */
+@Slf4j
+public class Screencast implements AutoCloseable {
+
+    private final DevToolsClient client;
+    private final Subscription subscription;
+    private final AtomicLong frameCount = new AtomicLong();
+    private volatile boolean closed;
+
+    public Screencast(DevToolsClient client, ScreencastOptions options, Consumer<ScreencastFrame> consumer) {
+        this.client = client;
+        this.subscription = client.subscribe(DevToolsMethod.PAGE_SCREENCAST_FRAME, event -> {
+            ScreencastFrame frame = event.getParamsAs(ScreencastFrame.class);
+            if (frame == null || closed) {
+                return;
+            }
+            try {
+                frameCount.incrementAndGet();
+                consumer.accept(frame);
+            } catch (Exception e) {
+                log.error("Screencast frame consumer failed", e);
+            } finally {
+                client.sendAsync(DevToolsMethod.PAGE_SCREENCAST_FRAME_ACK, Map.of("sessionId", frame.sessionId()));
+            }
+        });
+        try {
+            client.sendAndWait(DevToolsMethod.PAGE_START_SCREENCAST, toParams(options));
+        } catch (RuntimeException e) {
+            closed = true;
+            subscription.unsubscribe();
+            throw e;
+        }
+    }
+
+    public long getFrameCount() {
+        return frameCount.get();
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            subscription.unsubscribe();
+            if (client.isOpen()) {
+                client.sendAsync(DevToolsMethod.PAGE_STOP_SCREENCAST);
+            }
+        }
+    }
+
+    private static Map<String, Object> toParams(ScreencastOptions options) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("format", options.getFormat().getFormat());
+        if (options.quality() != null) {
+            params.put("quality", options.quality());
+        }
+        if (options.maxWidth() != null) {
+            params.put("maxWidth", options.maxWidth());
+        }
+        if (options.maxHeight() != null) {
+            params.put("maxHeight", options.maxHeight());
+        }
+        if (options.everyNthFrame() != null) {
+            params.put("everyNthFrame", options.everyNthFrame());
+        }
+        return params;
+    }
+}
@@ -0,0 +1,7 @@
+package io.playground.scraper.core.devtools;
+
+@FunctionalInterface
+public interface Subscription {
+    
+    void unsubscribe();
+}
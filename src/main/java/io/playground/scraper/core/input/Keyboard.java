@@ -0,0 +1,95 @@
+package io.playground.scraper.core.input;
+
+import io.playground.scraper.core.DevToolsClient;
+import io.playground.scraper.core.devtools.CommandBatch;
+import io.playground.scraper.model.key.KeyStroke;
+import io.playground.scraper.model.key.KeyboardCode;
+import org.openqa.selenium.Keys;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Types text into the focused element in one pipelined batch. Selenium {@link Keys} are mapped to their
+ * {@link KeyboardCode} with key, code and virtual key code; modifier keys stay pressed until {@link Keys#NULL} or the
+ * end of the text, like WebDriver's sendKeys.
+ */
+public class Keyboard {
+
+    private static final int MIN_KEY_DELAY_IN_MS = 40;
+    private static final int MAX_KEY_DELAY_IN_MS = 160;
+    private static final int MIN_KEY_DWELL_IN_MS = 15;
+    private static final int MAX_KEY_DWELL_IN_MS = 60;
+    private static final int WORD_PAUSE_IN_MS = 120;
+
+    private final DevToolsClient client;
+    private final TypingMode mode;
+
+    public Keyboard(DevToolsClient client, TypingMode mode) {
+        this.client = client;
+        this.mode = mode;
+    }
+
+    public void type(CharSequence text) {
+        CommandBatch batch = client.batch();
+        StringBuilder plainText = new StringBuilder();
+        int modifiers = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            KeyStroke keyStroke = KeyboardCode.forChar(ch);
+            boolean special = ch == Keys.NULL.charAt(0) || (keyStroke != null && !keyStroke.keyboardCode().isPrintable());
+            if (mode == TypingMode.INSERT_TEXT && !special && modifiers == 0) {
+                plainText.append(ch);
+                continue;
+            }
+            flushText(batch, plainText);
+
+            if (ch == Keys.NULL.charAt(0)) {
+                modifiers = releaseModifiers(batch, modifiers);
+            } else if (keyStroke != null && keyStroke.keyboardCode().getModifierFlag() != 0) {
+                modifiers |= keyStroke.keyboardCode().getModifierFlag();
+                batch.keyDown(keyStroke, modifiers);
+            } else if (keyStroke != null) {
+                int strokeModifiers = modifiers | (keyStroke.shift() ? KeyboardCode.MODIFIER_SHIFT : 0);
+                batch.keyDown(keyStroke, strokeModifiers);
+                pause(batch, MIN_KEY_DWELL_IN_MS, MAX_KEY_DWELL_IN_MS);
+                batch.keyUp(keyStroke, strokeModifiers);
+            } else {
+                batch.sendKey(ch);
+            }
+            if (mode == TypingMode.HUMANIZED) {
+                pause(batch, MIN_KEY_DELAY_IN_MS, MAX_KEY_DELAY_IN_MS);
+                if (ch == ' ') {
+                    pause(batch, 0, WORD_PAUSE_IN_MS);
+                }
+            }
+        }
+        flushText(batch, plainText);
+        releaseModifiers(batch, modifiers);
+        batch.execute();
+    }
+
+    private void flushText(CommandBatch batch, StringBuilder plainText) {
+        if (!plainText.isEmpty()) {
+            batch.insertText(plainText.toString());
+            plainText.setLength(0);
+        }
+    }
+
+    private int releaseModifiers(CommandBatch batch, int modifiers) {
+        for (KeyboardCode modifier : new KeyboardCode[]{KeyboardCode.SHIFT, KeyboardCode.CONTROL, KeyboardCode.ALT,
+                KeyboardCode.META}) {
+            if ((modifiers & modifier.getModifierFlag()) != 0) {
+                modifiers &= ~modifier.getModifierFlag();
+                batch.keyUp(new KeyStroke(modifier, false), modifiers);
+            }
+        }
+        return modifiers;
+    }
+
+    private void pause(CommandBatch batch, int minInMs, int maxInMs) {
+        if (mode == TypingMode.HUMANIZED) {
+            batch.pause(Duration.ofMillis(ThreadLocalRandom.current().nextInt(minInMs, maxInMs + 1)));
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package io.playground.scraper.core.input;
+
+public enum MotionFidelity {
+    /** Jump straight to the target, for pages without bot detection. */
+    NONE,
+    /** A short curved path sent back-to-back without delays. */
+    FAST,
+    /** A curved, eased path with Fitts' law timing, jitter and occasional overshoot, dispatched at ~60Hz. */
+    HUMAN_LIKE
+}
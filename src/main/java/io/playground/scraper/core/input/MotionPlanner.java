@@ -0,0 +1,97 @@
+package io.playground.scraper.core.input;
+
+import io.playground.scraper.model.response.boxmodel.Point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Plans mouse trajectories as cubic Bezier curves with randomized control points. Human-like paths take a duration
+ * from Fitts' law, are sampled at ~60Hz with ease-in-out timing and small jitter, and overshoot long moves before
+ * settling on the target. Passing a seeded {@link Random} makes a trajectory reproducible.
+ */
+public final class MotionPlanner {
+
+    private static final int FRAME_IN_MS = 16;
+    private static final int FAST_STEPS = 6;
+    private static final double OVERSHOOT_DISTANCE = 400;
+
+    private MotionPlanner() {
+    }
+
+    public static List<TimedPoint> plan(Point from, Point to, double targetWidth, MotionFidelity fidelity) {
+        return plan(from, to, targetWidth, fidelity, ThreadLocalRandom.current());
+    }
+
+    public static List<TimedPoint> plan(Point from, Point to, double targetWidth, MotionFidelity fidelity,
+                                        Random random) {
+        List<TimedPoint> points = new ArrayList<>();
+        double distance = Math.hypot(to.x() - from.x(), to.y() - from.y());
+        if (fidelity == MotionFidelity.NONE || distance < 1) {
+            points.add(new TimedPoint(to, 0));
+            return points;
+        }
+        if (fidelity == MotionFidelity.FAST) {
+            addCurve(points, from, to, FAST_STEPS, 0, 0, false, random);
+            return points;
+        }
+
+        long duration = Math.round(150 + 110 * log2(distance / Math.max(targetWidth, 1) + 1) * random.nextDouble(0.8, 1.2));
+        if (distance > OVERSHOOT_DISTANCE && random.nextDouble() < 0.5) {
+            double overshoot = random.nextDouble(0.03, 0.08);
+            Point beyond = new Point(to.x() + (to.x() - from.x()) * overshoot + random.nextDouble(-4, 4),
+                                     to.y() + (to.y() - from.y()) * overshoot + random.nextDouble(-4, 4));
+            long correction = Math.round(duration * 0.25);
+            addCurve(points, from, beyond, steps(duration), 0, duration, true, random);
+            addCurve(points, beyond, to, steps(correction), duration, correction, true, random);
+        } else {
+            addCurve(points, from, to, steps(duration), 0, duration, true, random);
+        }
+        return points;
+    }
+
+    private static int steps(long duration) {
+        return (int) Math.max(2, duration / FRAME_IN_MS);
+    }
+
+    private static void addCurve(List<TimedPoint> points, Point from, Point to, int steps, long startInMs,
+                                 long durationInMs, boolean jitter, Random random) {
+        double dx = to.x() - from.x();
+        double dy = to.y() - from.y();
+        double distance = Math.hypot(dx, dy);
+        double normalX = distance == 0 ? 0 : -dy / distance;
+        double normalY = distance == 0 ? 0 : dx / distance;
+        double bend1 = random.nextDouble(-0.3, 0.3) * distance;
+        double bend2 = random.nextDouble(-0.3, 0.3) * distance;
+        Point control1 = new Point(from.x() + dx * 0.3 + normalX * bend1, from.y() + dy * 0.3 + normalY * bend1);
+        Point control2 = new Point(from.x() + dx * 0.7 + normalX * bend2, from.y() + dy * 0.7 + normalY * bend2);
+
+        for (int i = 1; i <= steps; i++) {
+            double progress = (double) i / steps;
+            double t = jitter ? easeInOut(progress) : progress;
+            double x = bezier(from.x(), control1.x(), control2.x(), to.x(), t);
+            double y = bezier(from.y(), control1.y(), control2.y(), to.y(), t);
+            if (jitter && i < steps) {
+                x += random.nextDouble(-0.8, 0.8);
+                y += random.nextDouble(-0.8, 0.8);
+            }
+            Point point = i == steps ? to : new Point(Math.max(0, x), Math.max(0, y));
+            points.add(new TimedPoint(point, startInMs + Math.round(durationInMs * progress)));
+        }
+    }
+
+    private static double bezier(double p0, double p1, double p2, double p3, double t) {
+        double u = 1 - t;
+        return u * u * u * p0 + 3 * u * u * t * p1 + 3 * u * t * t * p2 + t * t * t * p3;
+    }
+
+    private static double easeInOut(double t) {
+        return t < 0.5 ? 4 * t * t * t : 1 - Math.pow(-2 * t + 2, 3) / 2;
+    }
+
+    private static double log2(double value) {
+        return Math.log(value) / Math.log(2);
+    }
+}
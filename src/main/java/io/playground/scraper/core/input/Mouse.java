@@ -0,0 +1,84 @@
+package io.playground.scraper.core.input;
+
+import io.playground.scraper.core.DevToolsClient;
+import io.playground.scraper.core.devtools.CommandBatch;
+import io.playground.scraper.model.response.boxmodel.Point;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Moves the mouse of a page session along planned trajectories. The whole path is streamed as one
+ * {@link CommandBatch} with client-side pauses, so no move waits for the previous acknowledgement. The last position
+ * is remembered so the next trajectory starts where this one ended; views created with {@link #withFidelity} share it.
+ */
+public class Mouse {
+
+    private final DevToolsClient client;
+    private final MotionFidelity fidelity;
+    private final AtomicReference<Point> position;
+
+    public Mouse(DevToolsClient client, MotionFidelity fidelity) {
+        this(client, fidelity, new AtomicReference<>(new Point(0, 0)));
+    }
+
+    private Mouse(DevToolsClient client, MotionFidelity fidelity, AtomicReference<Point> position) {
+        this.client = client;
+        this.fidelity = fidelity;
+        this.position = position;
+    }
+
+    /**
+     * The same mouse with a different fidelity, e.g. {@code mouse().withFidelity(MotionFidelity.NONE).click(point)}
+     * for a single click where no trajectory is needed.
+     */
+    public Mouse withFidelity(MotionFidelity fidelity) {
+        return fidelity == this.fidelity ? this : new Mouse(client, fidelity, position);
+    }
+
+    public MotionFidelity getFidelity() {
+        return fidelity;
+    }
+
+    public Point getPosition() {
+        return position.get();
+    }
+
+    public void moveTo(Point target) {
+        moveTo(target, 1);
+    }
+
+    public void moveTo(Point target, double targetWidth) {
+        CommandBatch batch = client.batch();
+        addTrajectory(batch, target, targetWidth);
+        batch.execute();
+    }
+
+    public void click(Point target) {
+        click(target, 1);
+    }
+
+    public void click(Point target, double targetWidth) {
+        CommandBatch batch = client.batch();
+        addTrajectory(batch, target, targetWidth);
+        if (fidelity == MotionFidelity.HUMAN_LIKE) {
+            batch.pause(Duration.ofMillis(ThreadLocalRandom.current().nextInt(30, 120)));
+        }
+        batch.clickMouse(target).execute();
+    }
+
+    private void addTrajectory(CommandBatch batch, Point target, double targetWidth) {
+        List<TimedPoint> trajectory = MotionPlanner.plan(position.get(), target, targetWidth, fidelity);
+        long lastOffset = 0;
+        for (TimedPoint timedPoint : trajectory) {
+            if (timedPoint.offsetInMs() > lastOffset) {
+                batch.pause(Duration.ofMillis(timedPoint.offsetInMs() - lastOffset));
+                lastOffset = timedPoint.offsetInMs();
+            }
+            batch.moveMouse(timedPoint.point());
+        }
+        position.set(target);
+    }
+}
@@ -0,0 +1,6 @@
+package io.playground.scraper.core.input;
+
+import io.playground.scraper.model.response.boxmodel.Point;
+
+public record TimedPoint(Point point, long offsetInMs) {
+}
@@ -0,0 +1,10 @@
+package io.playground.scraper.core.input;
+
+public enum TypingMode {
+    /** Plain text runs go through one Input.insertText each; special keys still produce key events. */
+    INSERT_TEXT,
+    /** Every character produces keyDown/keyUp events, pipelined without waiting for acknowledgements. */
+    KEY_EVENTS,
+    /** Like {@link #KEY_EVENTS}, with human-like key dwell and inter-key delays scheduled client-side. */
+    HUMANIZED
+}
@@ -0,0 +1,4 @@
+package io.playground.scraper.core.locator;
+
+public record CompiledLocator(LocatorStrategy strategy, String value) {
+}
@@ -0,0 +1,50 @@
+package io.playground.scraper.core.locator;
+
+import io.appium.java_client.pagefactory.bys.ContentMappedBy;
+import io.appium.java_client.pagefactory.bys.ContentType;
+import org.openqa.selenium.By;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Turns a {@link By} into a {@link CompiledLocator} once and caches it, so repeated lookups of the same locator skip
+ * strategy detection and script generation. The strategy and value come from Selenium's remote parameters; page factory
+ * locators are unwrapped to their html locator. Locators without a single strategy
+ * (chained, all, relative) are not compiled and are left to {@link By#findElements}; a remotable locator with a
+ * strategy other than Selenium's is not compiled either and is rejected by the driver.
+ */
+public final class LocatorCompiler {
+
+    private static final int MAX_CACHED_LOCATORS = 4096;
+    private static final Map<By, Optional<CompiledLocator>> cache = new ConcurrentHashMap<>();
+
+    private LocatorCompiler() {
+    }
+
+    public static CompiledLocator compile(By by) {
+        Optional<CompiledLocator> compiled = cache.get(by);
+        if (compiled == null) {
+            if (cache.size() >= MAX_CACHED_LOCATORS) {
+                cache.clear();
+            }
+            compiled = cache.computeIfAbsent(by, key -> Optional.ofNullable(doCompile(key)));
+        }
+        return compiled.orElse(null);
+    }
+
+    private static CompiledLocator doCompile(By by) {
+        if (by instanceof ContentMappedBy contentMappedBy) {
+            return doCompile(contentMappedBy.useContent(ContentType.HTML_OR_DEFAULT));
+        }
+        if (by instanceof By.Remotable remotable) {
+            By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+            LocatorStrategy strategy = LocatorStrategy.fromUsing(parameters.using());
+            if (strategy != null && parameters.value() instanceof String value) {
+                return new CompiledLocator(strategy, value);
+            }
+        }
+        return null;
+    }
+}
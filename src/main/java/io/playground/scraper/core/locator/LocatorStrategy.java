@@ -0,0 +1,66 @@
+package io.playground.scraper.core.locator;
+
+import lombok.Getter;
+
+/**
+ * In-page query functions for every Selenium locator strategy. Both functions are invoked with the search root as
+ * {@code this}; {@link #getFirstMatchFunction()} takes the locator value, {@link #getAllMatchesFunction()} the value
+ * and a match limit ({@code -1} for all matches) and returns a plain array. The functions are registered under
+ * {@link #getFirstMatchName()} and {@link #getAllMatchesName()} so they are installed in the page only once.
+ */
+@Getter
+public enum LocatorStrategy {
+    ID("id",
+       "this.querySelector('#' + CSS.escape(value))",
+       "this.querySelectorAll('#' + CSS.escape(value))"),
+    NAME("name",
+         "this.querySelector('[name=\"' + CSS.escape(value) + '\"]')",
+         "this.querySelectorAll('[name=\"' + CSS.escape(value) + '\"]')"),
+    CLASS_NAME("class name",
+               "this.querySelector('.' + CSS.escape(value))",
+               "this.querySelectorAll('.' + CSS.escape(value))"),
+    CSS_SELECTOR("css selector",
+                 "this.querySelector(value)",
+                 "this.querySelectorAll(value)"),
+    TAG_NAME("tag name",
+             "this.getElementsByTagName(value)[0]",
+             "this.getElementsByTagName(value)"),
+    XPATH("xpath",
+          "document.evaluate(value, this, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue",
+          """
+          (() => {
+              const result = document.evaluate(value, this, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+              const length = limit < 0 ? result.snapshotLength : Math.min(result.snapshotLength, limit);
+              return Array.from({ length }, (_, i) => result.snapshotItem(i));
+          })()"""),
+    LINK_TEXT("link text",
+              "Array.prototype.find.call(this.querySelectorAll('a'), a => a.innerText.trim() === value)",
+              "Array.prototype.filter.call(this.querySelectorAll('a'), a => a.innerText.trim() === value)"),
+    PARTIAL_LINK_TEXT("partial link text",
+                      "Array.prototype.find.call(this.querySelectorAll('a'), a => a.innerText.includes(value))",
+                      "Array.prototype.filter.call(this.querySelectorAll('a'), a => a.innerText.includes(value))");
+
+    private final String using;
+    private final String firstMatchFunction;
+    private final String allMatchesFunction;
+    private final String firstMatchName;
+    private final String allMatchesName;
+
+    LocatorStrategy(String using, String firstMatchExpression, String allMatchesExpression) {
+        this.using = using;
+        this.firstMatchName = "find_" + name().toLowerCase();
+        this.allMatchesName = "findAll_" + name().toLowerCase();
+        this.firstMatchFunction = "function(value) { return " + firstMatchExpression + " || null; }";
+        this.allMatchesFunction = "function(value, limit) { const found = Array.from(" + allMatchesExpression + "); "
+                + "return limit < 0 ? found : found.slice(0, limit); }";
+    }
+
+    public static LocatorStrategy fromUsing(String using) {
+        for (LocatorStrategy strategy : values()) {
+            if (strategy.using.equals(using)) {
+                return strategy;
+            }
+        }
+        return null;
+    }
+}
@@ -104,8 +104,9 @@ public class UCTargetLocator implements WebDriver.TargetLocator {
         List<TargetInfoProp> targets = getTargets();
         if (!targets.isEmpty()) {
             for (TargetInfoProp target : targets) {
-                if (target.title().equals(nameOrHandle)) {
-                    driver.getClient().activateTarget(target.targetId());
+                if (target.type().equals("page") 
+                        && (target.targetId().equals(nameOrHandle) || target.title().equals(nameOrHandle))) {
+                    driver.switchToWindow(target.targetId());
                     break;
                 }
             }
@@ -116,7 +117,9 @@ public class UCTargetLocator implements WebDriver.TargetLocator {
     @Override
     public WebDriver newWindow(WindowType typeHint) {
         String targetId = driver.getClient().createTarget("", typeHint.toString().equals("window"));
-        driver.getClient().attachToTarget(targetId);
+        if (!targetId.isEmpty()) {
+            driver.switchToWindow(targetId);
+        }
         return driver;
     }
 
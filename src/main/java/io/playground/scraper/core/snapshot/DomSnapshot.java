@@ -0,0 +1,343 @@
+package io.playground.scraper.core.snapshot;
+
+import io.playground.scraper.model.response.domsnapshot.CapturedSnapshot;
+import io.playground.scraper.model.response.domsnapshot.DocumentSnapshot;
+import io.playground.scraper.model.response.domsnapshot.LayoutTreeSnapshot;
+import io.playground.scraper.model.response.domsnapshot.NodeTreeSnapshot;
+import io.playground.scraper.model.response.domsnapshot.RareIntegerData;
+import io.playground.scraper.model.response.domsnapshot.RareStringData;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Immutable, columnar copy of a page captured with DOMSnapshot.captureSnapshot. Nodes of all documents (the page and
+ * its iframes) are kept in int arrays indexed by node, with names, values and attributes as indexes into one shared
+ * string table. Queries, text extraction and geometry checks run locally without further browser traffic. The document
+ * of an iframe is linked as the child of its iframe element, so descendant selectors such as {@code iframe a} reach
+ * into frames, while text extraction stops at the frame boundary like innerText does. Queries and filters return nodes
+ * in document order, which places the nodes of a frame where its iframe element sits.
+ */
+public class DomSnapshot {
+
+    public static final int ELEMENT_NODE = 1;
+    public static final int TEXT_NODE = 3;
+    public static final int DOCUMENT_NODE = 9;
+    private static final int NONE = -1;
+
+    private final String[] strings;
+    private final List<String> computedStyles;
+    private final int size;
+    private final int[] parent;
+    private final int[] nodeType;
+    private final int[] nodeName;
+    private final int[] nodeValue;
+    private final int[] backendNodeId;
+    private final int[] firstChild;
+    private final int[] lastChild;
+    private final int[] nextSibling;
+    private final int[] attributeOffsets;
+    private final int[] attributes;
+    private final int[] layoutIndex;
+    private final double[] bounds;
+    private final int[] styles;
+    private final Map<Integer, Integer> values = new HashMap<>();
+    private final int[] documents;
+    private final int[] documentOrder;
+
+    private DomSnapshot(CapturedSnapshot captured, List<String> computedStyles) {
+        this.strings = captured.strings() != null ? captured.strings() : new String[0];
+        this.computedStyles = List.copyOf(computedStyles);
+        List<DocumentSnapshot> documentSnapshots = captured.documents() != null ? captured.documents() : List.of();
+
+        int nodeCount = 0;
+        int layoutCount = 0;
+        int attributeCount = 0;
+        for (DocumentSnapshot document : documentSnapshots) {
+            NodeTreeSnapshot nodes = document.nodes();
+            nodeCount += nodes.parentIndex().length;
+            for (int[] nodeAttributes : nodes.attributes()) {
+                attributeCount += nodeAttributes.length;
+            }
+            layoutCount += document.layout().nodeIndex().length;
+        }
+
+        this.size = nodeCount;
+        this.parent = new int[nodeCount];
+        this.nodeType = new int[nodeCount];
+        this.nodeName = new int[nodeCount];
+        this.nodeValue = new int[nodeCount];
+        this.backendNodeId = new int[nodeCount];
+        this.firstChild = new int[nodeCount];
+        this.lastChild = new int[nodeCount];
+        this.nextSibling = new int[nodeCount];
+        this.attributeOffsets = new int[nodeCount + 1];
+        this.attributes = new int[attributeCount];
+        this.layoutIndex = new int[nodeCount];
+        this.bounds = new double[layoutCount * 4];
+        this.styles = new int[layoutCount * computedStyles.size()];
+        this.documents = new int[documentSnapshots.size()];
+        Arrays.fill(firstChild, NONE);
+        Arrays.fill(lastChild, NONE);
+        Arrays.fill(nextSibling, NONE);
+        Arrays.fill(layoutIndex, NONE);
+
+        int nodeOffset = 0;
+        int layoutOffset = 0;
+        int attributeOffset = 0;
+        for (int d = 0; d < documentSnapshots.size(); d++) {
+            NodeTreeSnapshot nodes = documentSnapshots.get(d).nodes();
+            documents[d] = nodeOffset;
+            int count = nodes.parentIndex().length;
+            for (int i = 0; i < count; i++) {
+                int node = nodeOffset + i;
+                int parentIndex = nodes.parentIndex()[i];
+                parent[node] = parentIndex < 0 ? NONE : nodeOffset + parentIndex;
+                nodeType[node] = nodes.nodeType()[i];
+                nodeName[node] = nodes.nodeName()[i];
+                nodeValue[node] = nodes.nodeValue()[i];
+                backendNodeId[node] = nodes.backendNodeId()[i];
+                attributeOffsets[node] = attributeOffset;
+                int[] nodeAttributes = nodes.attributes()[i];
+                System.arraycopy(nodeAttributes, 0, attributes, attributeOffset, nodeAttributes.length);
+                attributeOffset += nodeAttributes.length;
+                if (parent[node] != NONE) {
+                    appendChild(parent[node], node);
+                }
+            }
+            addValues(nodes.inputValue(), nodeOffset);
+            addValues(nodes.textValue(), nodeOffset);
+
+            LayoutTreeSnapshot layout = documentSnapshots.get(d).layout();
+            for (int l = 0; l < layout.nodeIndex().length; l++) {
+                int layoutNode = layoutOffset + l;
+                int node = nodeOffset + layout.nodeIndex()[l];
+                if (layoutIndex[node] == NONE) {
+                    layoutIndex[node] = layoutNode;
+                }
+                double[] box = layout.bounds()[l];
+                System.arraycopy(box, 0, bounds, layoutNode * 4, Math.min(4, box.length));
+                int[] nodeStyles = layout.styles()[l];
+                System.arraycopy(nodeStyles, 0, styles, layoutNode * computedStyles.size(),
+                                 Math.min(computedStyles.size(), nodeStyles.length));
+            }
+            nodeOffset += count;
+            layoutOffset += layout.nodeIndex().length;
+        }
+        attributeOffsets[nodeCount] = attributeOffset;
+        for (int d = 0; d < documentSnapshots.size(); d++) {
+            RareIntegerData contentDocuments = documentSnapshots.get(d).nodes().contentDocumentIndex();
+            if (contentDocuments != null && contentDocuments.index() != null) {
+                for (int i = 0; i < contentDocuments.index().length; i++) {
+                    int contentDocument = contentDocuments.value()[i];
+                    int iframe = documents[d] + contentDocuments.index()[i];
+                    if (contentDocument >= 0 && contentDocument < documents.length
+                            && parent[documents[contentDocument]] == NONE
+                            && root(iframe) != documents[contentDocument]) {
+                        appendChild(iframe, documents[contentDocument]);
+                    }
+                }
+            }
+        }
+        this.documentOrder = new int[nodeCount];
+        int position = 0;
+        for (int root = 0; root < nodeCount; root++) {
+            if (parent[root] == NONE) {
+                position = walk(root, position);
+            }
+        }
+    }
+
+    private int root(int node) {
+        while (parent[node] != NONE) {
+            node = parent[node];
+        }
+        return node;
+    }
+
+    private int walk(int root, int position) {
+        int node = root;
+        while (node != NONE) {
+            documentOrder[position++] = node;
+            if (firstChild[node] != NONE) {
+                node = firstChild[node];
+                continue;
+            }
+            while (node != root && nextSibling[node] == NONE) {
+                node = parent[node];
+            }
+            node = node == root ? NONE : nextSibling[node];
+        }
+        return position;
+    }
+
+    private void appendChild(int parentNode, int node) {
+        parent[node] = parentNode;
+        if (lastChild[parentNode] == NONE) {
+            firstChild[parentNode] = node;
+        } else {
+            nextSibling[lastChild[parentNode]] = node;
+        }
+        lastChild[parentNode] = node;
+    }
+
+    public static DomSnapshot from(CapturedSnapshot captured, List<String> computedStyles) {
+        return new DomSnapshot(captured, computedStyles);
+    }
+
+    private void addValues(RareStringData data, int nodeOffset) {
+        if (data != null && data.index() != null) {
+            for (int i = 0; i < data.index().length; i++) {
+                values.put(nodeOffset + data.index()[i], data.value()[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public SnapshotNode getNode(int index) {
+        return new SnapshotNode(this, index);
+    }
+
+    public List<SnapshotNode> getDocuments() {
+        List<SnapshotNode> nodes = new ArrayList<>(documents.length);
+        for (int document : documents) {
+            nodes.add(getNode(document));
+        }
+        return nodes;
+    }
+
+    public List<String> getComputedStyles() {
+        return computedStyles;
+    }
+
+    public List<SnapshotNode> select(String cssSelector) {
+        return SnapshotSelector.css(cssSelector).select(this, null);
+    }
+
+    public SnapshotNode selectFirst(String cssSelector) {
+        List<SnapshotNode> nodes = SnapshotSelector.css(cssSelector).select(this, null, 1);
+        return nodes.isEmpty() ? null : nodes.getFirst();
+    }
+
+    public List<SnapshotNode> selectXPath(String xpath) {
+        return SnapshotSelector.xpath(xpath).select(this, null);
+    }
+
+    public List<SnapshotNode> filter(Predicate<SnapshotNode> predicate) {
+        List<SnapshotNode> nodes = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            SnapshotNode node = getNode(documentOrder[i]);
+            if (predicate.test(node)) {
+                nodes.add(node);
+            }
+        }
+        return nodes;
+    }
+
+    String string(int index) {
+        return index >= 0 && index < strings.length ? strings[index] : null;
+    }
+
+    int nodeAt(int position) {
+        return documentOrder[position];
+    }
+
+    int ownerDocument(int node) {
+        while (node != NONE && nodeType[node] != DOCUMENT_NODE) {
+            node = parent[node];
+        }
+        return node;
+    }
+
+    int parent(int node) {
+        return parent[node];
+    }
+
+    int firstChild(int node) {
+        return firstChild[node];
+    }
+
+    int nextSibling(int node) {
+        return nextSibling[node];
+    }
+
+    int nodeType(int node) {
+        return nodeType[node];
+    }
+
+    String nodeName(int node) {
+        return string(nodeName[node]);
+    }
+
+    String nodeValue(int node) {
+        return string(nodeValue[node]);
+    }
+
+    int backendNodeId(int node) {
+        return backendNodeId[node];
+    }
+
+    String value(int node) {
+        Integer value = values.get(node);
+        return value != null ? string(value) : null;
+    }
+
+    int attributeCount(int node) {
+        return (attributeOffsets[node + 1] - attributeOffsets[node]) / 2;
+    }
+
+    String attributeName(int node, int attribute) {
+        return string(attributes[attributeOffsets[node] + attribute * 2]);
+    }
+
+    String attributeValue(int node, int attribute) {
+        return string(attributes[attributeOffsets[node] + attribute * 2 + 1]);
+    }
+
+    String attribute(int node, String name) {
+        for (int a = 0, count = attributeCount(node); a < count; a++) {
+            if (name.equals(attributeName(node, a))) {
+                return attributeValue(node, a);
+            }
+        }
+        return null;
+    }
+
+    boolean isRendered(int node) {
+        return layoutIndex[node] != NONE;
+    }
+
+    double bound(int node, int component) {
+        return bounds[layoutIndex[node] * 4 + component];
+    }
+
+    String computedStyle(int node, String name) {
+        int style = computedStyles.indexOf(name);
+        if (style < 0 || layoutIndex[node] == NONE) {
+            return null;
+        }
+        return string(styles[layoutIndex[node] * computedStyles.size() + style]);
+    }
+
+    void appendText(int node, StringBuilder text) {
+        if (nodeType[node] == TEXT_NODE) {
+            String value = nodeValue(node);
+            if (value != null) {
+                text.append(value);
+            }
+            return;
+        }
+        String name = nodeName(node);
+        if ("SCRIPT".equals(name) || "STYLE".equals(name)) {
+            return;
+        }
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (nodeType[child] != DOCUMENT_NODE) {
+                appendText(child, text);
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package io.playground.scraper.core.snapshot;
+
+import org.openqa.selenium.Rectangle;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public record SnapshotNode(DomSnapshot snapshot, int index) {
+
+    public int getNodeType() {
+        return snapshot.nodeType(index);
+    }
+
+    public boolean isElement() {
+        return getNodeType() == DomSnapshot.ELEMENT_NODE;
+    }
+
+    public String getNodeName() {
+        return snapshot.nodeName(index);
+    }
+
+    public String getTagName() {
+        String nodeName = getNodeName();
+        return nodeName != null && isElement() ? nodeName.toLowerCase() : null;
+    }
+
+    public String getNodeValue() {
+        return snapshot.nodeValue(index);
+    }
+
+    public int getBackendNodeId() {
+        return snapshot.backendNodeId(index);
+    }
+
+    public String getValue() {
+        return snapshot.value(index);
+    }
+
+    public String getAttribute(String name) {
+        return snapshot.attribute(index, name);
+    }
+
+    public boolean hasAttribute(String name) {
+        return getAttribute(name) != null;
+    }
+
+    public Map<String, String> getAttributes() {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        for (int a = 0, count = snapshot.attributeCount(index); a < count; a++) {
+            attributes.put(snapshot.attributeName(index, a), snapshot.attributeValue(index, a));
+        }
+        return attributes;
+    }
+
+    public boolean hasClass(String className) {
+        String classes = getAttribute("class");
+        if (classes == null) {
+            return false;
+        }
+        for (String candidate : classes.split("\\s+")) {
+            if (candidate.equals(className)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public SnapshotNode getParent() {
+        int parent = snapshot.parent(index);
+        return parent < 0 ? null : snapshot.getNode(parent);
+    }
+
+    public List<SnapshotNode> getChildren() {
+        List<SnapshotNode> children = new ArrayList<>();
+        for (int child = snapshot.firstChild(index); child >= 0; child = snapshot.nextSibling(child)) {
+            children.add(snapshot.getNode(child));
+        }
+        return children;
+    }
+
+    public String getText() {
+        StringBuilder text = new StringBuilder();
+        snapshot.appendText(index, text);
+        return text.toString();
+    }
+
+    public String getNormalizedText() {
+        return getText().replaceAll("\\s+", " ").trim();
+    }
+
+    public String getOwnText() {
+        StringBuilder text = new StringBuilder();
+        for (int child = snapshot.firstChild(index); child >= 0; child = snapshot.nextSibling(child)) {
+            if (snapshot.nodeType(child) == DomSnapshot.TEXT_NODE) {
+                snapshot.appendText(child, text);
+            }
+        }
+        return text.toString();
+    }
+
+    public boolean isRendered() {
+        return snapshot.isRendered(index);
+    }
+
+    public Rectangle getBounds() {
+        if (!isRendered()) {
+            return null;
+        }
+        return new Rectangle((int) snapshot.bound(index, 0), (int) snapshot.bound(index, 1),
+                             (int) snapshot.bound(index, 3), (int) snapshot.bound(index, 2));
+    }
+
+    public boolean isVisible() {
+        return isRendered() && snapshot.bound(index, 2) > 0 && snapshot.bound(index, 3) > 0;
+    }
+
+    public boolean intersects(double x, double y, double width, double height) {
+        if (!isRendered()) {
+            return false;
+        }
+        double left = snapshot.bound(index, 0);
+        double top = snapshot.bound(index, 1);
+        return left < x + width && x < left + snapshot.bound(index, 2)
+                && top < y + height && y < top + snapshot.bound(index, 3);
+    }
+
+    public String getComputedStyle(String name) {
+        return snapshot.computedStyle(index, name);
+    }
+
+    public List<SnapshotNode> select(String cssSelector) {
+        return SnapshotSelector.css(cssSelector).select(snapshot, this);
+    }
+
+    public SnapshotNode selectFirst(String cssSelector) {
+        List<SnapshotNode> nodes = SnapshotSelector.css(cssSelector).select(snapshot, this, 1);
+        return nodes.isEmpty() ? null : nodes.getFirst();
+    }
+
+    public List<SnapshotNode> selectXPath(String xpath) {
+        return SnapshotSelector.xpath(xpath).select(snapshot, this);
+    }
+
+    @Override
+    public String toString() {
+        return isElement() ? "<" + getTagName() + " " + getAttributes() + ">" : getNodeName();
+    }
+}
@@ -0,0 +1,479 @@
+package io.playground.scraper.core.snapshot;
+
+import org.openqa.selenium.InvalidSelectorException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Compiled selector over a {@link DomSnapshot}. Supports the CSS subset of type, universal, id, class and attribute
+ * selectors ({@code = ~= |= ^= $= *=}) joined by descendant or child combinators and grouped with commas, and the
+ * XPath subset of {@code /} and {@code //} steps with name tests and predicates on position, {@code @attr},
+ * {@code text()}, {@code .} and {@code normalize-space()} ({@code =}, {@code !=}, {@code contains},
+ * {@code starts-with}, {@code not}, {@code and}, {@code or}). Nodes are matched right to left and returned in
+ * document order, with the nodes of a frame placed where its iframe element sits. Without a context node, selectors
+ * start at the page's document; an absolute XPath with a context node starts at the document that contains it.
+ */
+final class SnapshotSelector {
+
+    private static final int MAX_CACHED_SELECTORS = 1024;
+    private static final Map<String, SnapshotSelector> cssCache = new ConcurrentHashMap<>();
+    private static final Map<String, SnapshotSelector> xpathCache = new ConcurrentHashMap<>();
+
+    private final List<List<Step>> groups;
+    private final boolean absolute;
+
+    private SnapshotSelector(List<List<Step>> groups, boolean absolute) {
+        this.groups = groups;
+        this.absolute = absolute;
+    }
+
+    @FunctionalInterface
+    private interface NodeTest {
+        boolean test(DomSnapshot snapshot, int node);
+
+        default NodeTest and(NodeTest other) {
+            return (snapshot, node) -> test(snapshot, node) && other.test(snapshot, node);
+        }
+
+        default NodeTest or(NodeTest other) {
+            return (snapshot, node) -> test(snapshot, node) || other.test(snapshot, node);
+        }
+    }
+
+    private record Step(boolean child, NodeTest test) {}
+
+    static SnapshotSelector css(String selector) {
+        return cached(cssCache, selector, SnapshotSelector::parseCss);
+    }
+
+    static SnapshotSelector xpath(String xpath) {
+        return cached(xpathCache, xpath, SnapshotSelector::parseXPath);
+    }
+
+    private static SnapshotSelector cached(Map<String, SnapshotSelector> cache, String selector,
+                                           Function<String, SnapshotSelector> parser) {
+        SnapshotSelector compiled = cache.get(selector);
+        if (compiled == null) {
+            if (cache.size() >= MAX_CACHED_SELECTORS) {
+                cache.clear();
+            }
+            compiled = cache.computeIfAbsent(selector, parser);
+        }
+        return compiled;
+    }
+
+    List<SnapshotNode> select(DomSnapshot snapshot, SnapshotNode context) {
+        return select(snapshot, context, Integer.MAX_VALUE);
+    }
+
+    List<SnapshotNode> select(DomSnapshot snapshot, SnapshotNode context, int limit) {
+        List<SnapshotNode> nodes = new ArrayList<>();
+        int contextIndex = -1;
+        if (context != null) {
+            contextIndex = absolute ? snapshot.ownerDocument(context.index()) : context.index();
+        }
+        for (int position = 0; position < snapshot.size() && nodes.size() < limit; position++) {
+            int node = snapshot.nodeAt(position);
+            for (List<Step> steps : groups) {
+                if (matches(snapshot, node, steps, steps.size() - 1, contextIndex)) {
+                    nodes.add(snapshot.getNode(node));
+                    break;
+                }
+            }
+        }
+        return nodes;
+    }
+
+    private static boolean matches(DomSnapshot snapshot, int node, List<Step> steps, int step, int context) {
+        Step current = steps.get(step);
+        if (!current.test().test(snapshot, node)) {
+            return false;
+        }
+        int parent = snapshot.parent(node);
+        if (step == 0) {
+            if (current.child()) {
+                return parent >= 0 && isContext(snapshot, parent, context);
+            }
+            for (int ancestor = parent; ancestor >= 0; ancestor = snapshot.parent(ancestor)) {
+                if (isContext(snapshot, ancestor, context)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (current.child()) {
+            return parent >= 0 && matches(snapshot, parent, steps, step - 1, context);
+        }
+        for (int ancestor = parent; ancestor >= 0; ancestor = snapshot.parent(ancestor)) {
+            if (matches(snapshot, ancestor, steps, step - 1, context)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isContext(DomSnapshot snapshot, int node, int context) {
+        if (context < 0) {
+            return snapshot.nodeType(node) == DomSnapshot.DOCUMENT_NODE && snapshot.parent(node) < 0;
+        }
+        return node == context;
+    }
+
+    private static boolean isElement(DomSnapshot snapshot, int node) {
+        return snapshot.nodeType(node) == DomSnapshot.ELEMENT_NODE;
+    }
+
+    private static NodeTest nameTest(String name) {
+        if (name.equals("*")) {
+            return SnapshotSelector::isElement;
+        }
+        return (snapshot, node) -> isElement(snapshot, node) && name.equalsIgnoreCase(snapshot.nodeName(node));
+    }
+
+    private static SnapshotSelector parseCss(String selector) {
+        List<List<Step>> groups = new ArrayList<>();
+        Cursor cursor = new Cursor(selector);
+        List<Step> steps = new ArrayList<>();
+        boolean child = false;
+        while (!cursor.atEnd()) {
+            char c = cursor.peek();
+            if (Character.isWhitespace(c)) {
+                cursor.next();
+            } else if (c == '>') {
+                if (child) {
+                    throw cursor.unsupported();
+                }
+                cursor.next();
+                child = true;
+            } else if (c == ',') {
+                if (child) {
+                    throw cursor.unsupported();
+                }
+                cursor.next();
+                groups.add(cursor.requireSteps(steps));
+                steps = new ArrayList<>();
+                child = false;
+            } else {
+                steps.add(new Step(child, parseCompound(cursor)));
+                child = false;
+            }
+        }
+        if (child) {
+            throw cursor.unsupported();
+        }
+        groups.add(cursor.requireSteps(steps));
+        return new SnapshotSelector(groups, false);
+    }
+
+    private static NodeTest parseCompound(Cursor cursor) {
+        NodeTest test = SnapshotSelector::isElement;
+        boolean empty = true;
+        while (!cursor.atEnd() && !Character.isWhitespace(cursor.peek()) && ">,".indexOf(cursor.peek()) < 0) {
+            char c = cursor.peek();
+            if (c == '*') {
+                cursor.next();
+            } else if (c == '#') {
+                cursor.next();
+                String id = cursor.identifier();
+                test = test.and((snapshot, node) -> id.equals(snapshot.attribute(node, "id")));
+            } else if (c == '.') {
+                cursor.next();
+                String className = cursor.identifier();
+                test = test.and((snapshot, node) -> snapshot.getNode(node).hasClass(className));
+            } else if (c == '[') {
+                cursor.next();
+                test = test.and(parseAttribute(cursor));
+            } else if (Cursor.isIdentifierChar(c)) {
+                test = test.and(nameTest(cursor.identifier()));
+            } else {
+                throw cursor.unsupported();
+            }
+            empty = false;
+        }
+        if (empty) {
+            throw cursor.unsupported();
+        }
+        return test;
+    }
+
+    private static NodeTest parseAttribute(Cursor cursor) {
+        cursor.skipWhitespace();
+        String name = cursor.identifier();
+        cursor.skipWhitespace();
+        if (cursor.consume("]")) {
+            return (snapshot, node) -> snapshot.attribute(node, name) != null;
+        }
+        String operator = cursor.consume("=") ? "=" : cursor.take(2);
+        cursor.skipWhitespace();
+        String expected = cursor.peek() == '"' || cursor.peek() == '\'' ? cursor.literal() : cursor.identifier();
+        cursor.skipWhitespace();
+        cursor.expect("]");
+        BiFunction<String, String, Boolean> comparison = switch (operator) {
+            case "=" -> String::equals;
+            case "~=" -> (actual, value) -> List.of(actual.split("\\s+")).contains(value);
+            case "|=" -> (actual, value) -> actual.equals(value) || actual.startsWith(value + "-");
+            case "^=" -> (actual, value) -> !value.isEmpty() && actual.startsWith(value);
+            case "$=" -> (actual, value) -> !value.isEmpty() && actual.endsWith(value);
+            case "*=" -> (actual, value) -> !value.isEmpty() && actual.contains(value);
+            default -> throw cursor.unsupported();
+        };
+        return (snapshot, node) -> {
+            String actual = snapshot.attribute(node, name);
+            return actual != null && comparison.apply(actual, expected);
+        };
+    }
+
+    private static SnapshotSelector parseXPath(String xpath) {
+        Cursor cursor = new Cursor(xpath.trim());
+        if (cursor.consume("./")) {
+            cursor.position--;
+        }
+        List<Step> steps = new ArrayList<>();
+        while (!cursor.atEnd()) {
+            boolean child;
+            if (cursor.consume("//")) {
+                child = false;
+            } else if (cursor.consume("/")) {
+                child = true;
+            } else if (steps.isEmpty()) {
+                child = true;
+            } else {
+                throw cursor.unsupported();
+            }
+            NodeTest test = nameTest(cursor.consume("*") ? "*" : cursor.identifier());
+            while (cursor.consume("[")) {
+                cursor.skipWhitespace();
+                if (Character.isDigit(cursor.peek())) {
+                    int position = Integer.parseInt(cursor.number());
+                    NodeTest preceding = test;
+                    test = (snapshot, node) -> preceding.test(snapshot, node)
+                            && siblingPosition(snapshot, node, preceding) == position;
+                } else {
+                    test = test.and(parseOr(cursor));
+                }
+                cursor.skipWhitespace();
+                cursor.expect("]");
+            }
+            steps.add(new Step(child, test));
+        }
+        return new SnapshotSelector(List.of(cursor.requireSteps(steps)), xpath.trim().startsWith("/"));
+    }
+
+    private static int siblingPosition(DomSnapshot snapshot, int node, NodeTest test) {
+        int parent = snapshot.parent(node);
+        if (parent < 0) {
+            return 1;
+        }
+        int position = 0;
+        for (int sibling = snapshot.firstChild(parent); sibling >= 0; sibling = snapshot.nextSibling(sibling)) {
+            if (test.test(snapshot, sibling)) {
+                position++;
+            }
+            if (sibling == node) {
+                break;
+            }
+        }
+        return position;
+    }
+
+    private static NodeTest parseOr(Cursor cursor) {
+        NodeTest test = parseAnd(cursor);
+        while (cursor.consumeKeyword("or")) {
+            test = test.or(parseAnd(cursor));
+        }
+        return test;
+    }
+
+    private static NodeTest parseAnd(Cursor cursor) {
+        NodeTest test = parsePredicate(cursor);
+        while (cursor.consumeKeyword("and")) {
+            test = test.and(parsePredicate(cursor));
+        }
+        return test;
+    }
+
+    private static NodeTest parsePredicate(Cursor cursor) {
+        cursor.skipWhitespace();
+        if (cursor.consume("not(")) {
+            NodeTest negated = parseOr(cursor);
+            cursor.skipWhitespace();
+            cursor.expect(")");
+            return (snapshot, node) -> !negated.test(snapshot, node);
+        }
+        if (cursor.consume("(")) {
+            NodeTest grouped = parseOr(cursor);
+            cursor.skipWhitespace();
+            cursor.expect(")");
+            return grouped;
+        }
+        for (String function : List.of("contains(", "starts-with(")) {
+            if (cursor.consume(function)) {
+                BiFunction<DomSnapshot, Integer, String> value = parseValue(cursor);
+                cursor.skipWhitespace();
+                cursor.expect(",");
+                cursor.skipWhitespace();
+                String expected = cursor.literal();
+                cursor.skipWhitespace();
+                cursor.expect(")");
+                boolean contains = function.startsWith("contains");
+                return (snapshot, node) -> {
+                    String actual = value.apply(snapshot, node);
+                    return actual != null && (contains ? actual.contains(expected) : actual.startsWith(expected));
+                };
+            }
+        }
+        BiFunction<DomSnapshot, Integer, String> value = parseValue(cursor);
+        cursor.skipWhitespace();
+        if (cursor.atEnd() || cursor.peek() == ']' || cursor.peek() == ')' || cursor.peekKeyword()) {
+            return (snapshot, node) -> value.apply(snapshot, node) != null;
+        }
+        boolean negate = cursor.consume("!=");
+        if (!negate) {
+            cursor.expect("=");
+        }
+        cursor.skipWhitespace();
+        String expected = cursor.literal();
+        return (snapshot, node) -> {
+            String actual = value.apply(snapshot, node);
+            return actual != null && actual.equals(expected) != negate;
+        };
+    }
+
+    private static BiFunction<DomSnapshot, Integer, String> parseValue(Cursor cursor) {
+        cursor.skipWhitespace();
+        if (cursor.consume("@")) {
+            String name = cursor.identifier();
+            return (snapshot, node) -> snapshot.attribute(node, name);
+        }
+        if (cursor.consume("text()")) {
+            return (snapshot, node) -> snapshot.getNode(node).getOwnText();
+        }
+        if (cursor.consume("normalize-space(")) {
+            cursor.consume(".");
+            cursor.expect(")");
+            return (snapshot, node) -> snapshot.getNode(node).getNormalizedText();
+        }
+        if (cursor.consume(".")) {
+            return (snapshot, node) -> snapshot.getNode(node).getText();
+        }
+        throw cursor.unsupported();
+    }
+
+    private static final class Cursor {
+        private final String text;
+        private int position;
+
+        private Cursor(String text) {
+            this.text = text;
+        }
+
+        private static boolean isIdentifierChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '-' || c == '_' || c == '\\';
+        }
+
+        private boolean atEnd() {
+            return position >= text.length();
+        }
+
+        private char peek() {
+            return atEnd() ? '\0' : text.charAt(position);
+        }
+
+        private char next() {
+            return text.charAt(position++);
+        }
+
+        private void skipWhitespace() {
+            while (!atEnd() && Character.isWhitespace(peek())) {
+                position++;
+            }
+        }
+
+        private boolean consume(String token) {
+            if (text.startsWith(token, position)) {
+                position += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private boolean peekKeyword() {
+            return text.startsWith("and", position) || text.startsWith("or", position);
+        }
+
+        private boolean consumeKeyword(String keyword) {
+            int start = position;
+            skipWhitespace();
+            if (consume(keyword) && !atEnd() && Character.isWhitespace(peek())) {
+                return true;
+            }
+            position = start;
+            return false;
+        }
+
+        private void expect(String token) {
+            if (!consume(token)) {
+                throw unsupported();
+            }
+        }
+
+        private String take(int length) {
+            if (position + length > text.length()) {
+                throw unsupported();
+            }
+            String token = text.substring(position, position + length);
+            position += length;
+            return token;
+        }
+
+        private String identifier() {
+            StringBuilder identifier = new StringBuilder();
+            while (!atEnd() && isIdentifierChar(peek())) {
+                char c = next();
+                identifier.append(c == '\\' && !atEnd() ? next() : c);
+            }
+            if (identifier.isEmpty()) {
+                throw unsupported();
+            }
+            return identifier.toString();
+        }
+
+        private String number() {
+            int start = position;
+            while (!atEnd() && Character.isDigit(peek())) {
+                position++;
+            }
+            return text.substring(start, position);
+        }
+
+        private String literal() {
+            char quote = peek();
+            if (quote != '"' && quote != '\'') {
+                throw unsupported();
+            }
+            int end = text.indexOf(quote, position + 1);
+            if (end < 0) {
+                throw unsupported();
+            }
+            String literal = text.substring(position + 1, end);
+            position = end + 1;
+            return literal;
+        }
+
+        private List<Step> requireSteps(List<Step> steps) {
+            if (steps.isEmpty()) {
+                throw unsupported();
+            }
+            return List.copyOf(steps);
+        }
+
+        private InvalidSelectorException unsupported() {
+            return new InvalidSelectorException("Unsupported snapshot selector '" + text + "' at position " + position);
+        }
+    }
+}
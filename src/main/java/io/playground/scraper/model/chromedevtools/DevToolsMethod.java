@@ -31,6 +31,9 @@ public enum DevToolsMethod {
     DOM_GET_CONTAINER_FOR_NODE("DOM.getContainerForNode"),
     DOM_CHILD_NODE_COUNT_UPDATED("DOM.childNodeCountUpdated"),
     DOM_PERFORM_SEARCH("DOM.performSearch"),
+    DOM_DOCUMENT_UPDATED("DOM.documentUpdated"),
+    
+    DOM_SNAPSHOT_CAPTURE_SNAPSHOT("DOMSnapshot.captureSnapshot"),
     
     CCS_GET_COMPUTED_STYLE_FOR_NODE("CSS.getComputedStyleForNode"),
     
@@ -41,10 +44,20 @@ public enum DevToolsMethod {
     NETWORK_GET_COOKIES("Network.getCookies"),
     NETWORK_DELETE_COOKIES("Network.deleteCookies"),
     NETWORK_CLEAR_BROWSER_COOKIES("Network.clearBrowserCookies"),
+    NETWORK_CLEAR_BROWSER_CACHE("Network.clearBrowserCache"),
     NETWORK_SET_BYPASS_SERVICE_WOKER("Network.setBypassServiceWorker"),
+    NETWORK_REQUEST_WILL_BE_SENT("Network.requestWillBeSent"),
+    NETWORK_LOADING_FINISHED("Network.loadingFinished"),
+    NETWORK_LOADING_FAILED("Network.loadingFailed"),
 
+    STORAGE_GET_COOKIES("Storage.getCookies"),
     STORAGE_SET_COOKIES("Storage.setCookies"),
+    STORAGE_CLEAR_DATA_FOR_ORIGIN("Storage.clearDataForOrigin"),
     
+    INSPECTOR_ENABLE("Inspector.enable"),
+    INSPECTOR_TARGET_CRASHED("Inspector.targetCrashed"),
+    INSPECTOR_DETACHED("Inspector.detached"),
+
     EMULATION_SET_TIME_ZONE_OVERRIDE("Emulation.setTimezoneOverride"),
 
     FETCH_GET_RESPONSE_BODY("Fetch.getResponseBody"),
@@ -56,6 +69,7 @@ public enum DevToolsMethod {
     FETCH_ENABLE("Fetch.enable"),
     FETCH_DISABLE("Fetch.disable"),
     FETCH_AUTH_REQUIRED("Fetch.authRequired"),
+    FETCH_REQUEST_PAUSED("Fetch.requestPaused"),
 
     OVERLAY_ENABLE("Overlay.enable"),
     OVERLAY_DISABLE("Overlay.disable"),
@@ -74,15 +88,35 @@ public enum DevToolsMethod {
     PAGE_NAVIGATE("Page.navigate"),
     PAGE_HANDLE_JAVASCRIPT_DIALOG("Page.handleJavaScriptDialog"),
     PAGE_JAVASCRIPT_DIALOG_OPENING("Page.javascriptDialogOpening"),
+    PAGE_JAVASCRIPT_DIALOG_CLOSED("Page.javascriptDialogClosed"),
     PAGE_GET_FRAME_TREE("Page.getFrameTree"),
     PAGE_CREATE_ISOLATED_WORLD("Page.createIsolatedWorld"),
     PAGE_LOAD_EVENT_FIRED("Page.loadEventFired"),
     PAGE_FRAME_STOPPED_LOADING("Page.frameStoppedLoading"),
+    PAGE_FRAME_NAVIGATED("Page.frameNavigated"),
+    PAGE_FRAME_DETACHED("Page.frameDetached"),
+    PAGE_LIFECYCLE_EVENT("Page.lifecycleEvent"),
+    PAGE_SET_LIFECYCLE_EVENTS_ENABLED("Page.setLifecycleEventsEnabled"),
     PAGE_CAPTURE_SCREENSHOT("Page.captureScreenshot"),
+    PAGE_START_SCREENCAST("Page.startScreencast"),
+    PAGE_STOP_SCREENCAST("Page.stopScreencast"),
+    PAGE_SCREENCAST_FRAME("Page.screencastFrame"),
+    PAGE_SCREENCAST_FRAME_ACK("Page.screencastFrameAck"),
+    PAGE_PRINT_TO_PDF("Page.printToPDF"),
+
+    IO_READ("IO.read"),
+    IO_CLOSE("IO.close"),
 
+    RUNTIME_ENABLE("Runtime.enable"),
     RUNTIME_EVALUATE("Runtime.evaluate"),
     RUNTIME_CALL_FUNCTION_ON("Runtime.callFunctionOn"),
+    RUNTIME_GET_PROPERTIES("Runtime.getProperties"),
+    RUNTIME_RELEASE_OBJECT("Runtime.releaseObject"),
+    RUNTIME_GET_HEAP_USAGE("Runtime.getHeapUsage"),
     RUNTIME_RUN_IF_WAITING_FOR_DEBUGGER("Runtime.runIfWaitingForDebugger"),
+    RUNTIME_EXECUTION_CONTEXT_CREATED("Runtime.executionContextCreated"),
+    RUNTIME_EXECUTION_CONTEXT_DESTROYED("Runtime.executionContextDestroyed"),
+    RUNTIME_EXECUTION_CONTEXTS_CLEARED("Runtime.executionContextsCleared"),
 
     BROWSER_GET_VERSION("Browser.getVersion"),
     BROWSER_GET_WINDOW_FOR_TARGET("Browser.getWindowForTarget"),
@@ -97,6 +131,8 @@ public enum DevToolsMethod {
     TARGET_SET_DISCOVER_TARGETS("Target.setDiscoverTargets"),
     TARGET_SET_AUTO_ATTACH("Target.setAutoAttach"),
     TARGET_ATTACH_TO_TARGET("Target.attachToTarget"),
+    TARGET_DETACH_FROM_TARGET("Target.detachFromTarget"),
+    TARGET_DETACHED_FROM_TARGET("Target.detachedFromTarget"),
     TARGET_ACTIVATE_TARGET("Target.activateTarget"),
     TARGET_GET_TARGET_INFO("Target.getTargetInfo"),
     TARGET_GET_TARGETS("Target.getTargets"),
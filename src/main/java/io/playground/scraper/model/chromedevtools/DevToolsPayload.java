@@ -2,6 +2,11 @@ package io.playground.scraper.model.chromedevtools;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.playground.scraper.util.JacksonUtil;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -26,12 +31,61 @@ public class DevToolsPayload {
     
     private String method;
 
+    private String sessionId;
+
     private DevToolsError error;
 
     private Map<String, Object> result;
 
     private Map<String, Object> params;
 
+    // raw tokens of an incoming frame, bound to a typed record only when a caller asks for it
+    @JsonIgnore
+    private TokenBuffer rawResult;
+
+    @JsonIgnore
+    private TokenBuffer rawParams;
+
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private boolean emptyResult;
+
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private boolean exceptionDetails;
+
+    // top-level params.requestId of an incoming frame, read while decoding so events can be routed without params
+    @JsonIgnore
+    private String requestId;
+
+    public Map<String, Object> getResult() {
+        if (result == null && rawResult != null) {
+            result = read(rawResult, new TypeReference<>() {});
+        }
+        return result;
+    }
+
+    public Map<String, Object> getParams() {
+        if (params == null && rawParams != null) {
+            params = read(rawParams, new TypeReference<>() {});
+        }
+        return params;
+    }
+
+    public <T> T getResultAs(Class<T> type) {
+        if (rawResult != null) {
+            return read(rawResult, type);
+        }
+        return JacksonUtil.convertValue(result, type);
+    }
+
+    public <T> T getParamsAs(Class<T> type) {
+        if (rawParams != null) {
+            return read(rawParams, type);
+        }
+        return JacksonUtil.convertValue(params, type);
+    }
+
     @JsonIgnore
     public boolean hasId() {
         return id != null && id > 0;
@@ -46,14 +100,41 @@ public class DevToolsPayload {
     public boolean isError() {
         return error != null;
     }
+
+    @JsonIgnore
+    public boolean hasExceptionDetails() {
+        return exceptionDetails;
+    }
     
     @JsonIgnore
     public boolean hasParam() {
+        if (rawParams != null) {
+            return true;
+        }
         return params != null && !params.isEmpty();
     }
 
     @JsonIgnore
     public boolean isResult() {
+        if (rawResult != null) {
+            return !emptyResult;
+        }
         return result != null && !result.isEmpty();
     }
+
+    private static <T> T read(TokenBuffer buffer, Class<T> type) {
+        try (JsonParser parser = buffer.asParser()) {
+            return JacksonUtil.readValue(parser, type);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static <T> T read(TokenBuffer buffer, TypeReference<T> type) {
+        try (JsonParser parser = buffer.asParser()) {
+            return JacksonUtil.readValue(parser, type);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
 }
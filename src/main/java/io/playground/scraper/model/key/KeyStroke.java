@@ -0,0 +1,12 @@
+package io.playground.scraper.model.key;
+
+public record KeyStroke(KeyboardCode keyboardCode, boolean shift) {
+
+    public String getKey() {
+        return shift ? keyboardCode.getShiftKey() : keyboardCode.getKey();
+    }
+
+    public String getText() {
+        return shift ? keyboardCode.getShiftKey() : keyboardCode.getText();
+    }
+}
@@ -1,22 +1,157 @@
 package io.playground.scraper.model.key;
 
+import lombok.Getter;
+import org.openqa.selenium.Keys;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
 public enum KeyboardCode {
 
-    a('a', "KeyA", 97),
-    b('b', "KeyB", 98),
-    c('c', "KeyC", 99),
-    d('d', "KeyD", 100),
-    e('e', "KeyE", 101),
-    ;
+    a("a", "A", "KeyA", 65),
+    b("b", "B", "KeyB", 66),
+    c("c", "C", "KeyC", 67),
+    d("d", "D", "KeyD", 68),
+    e("e", "E", "KeyE", 69),
+    f("f", "F", "KeyF", 70),
+    g("g", "G", "KeyG", 71),
+    h("h", "H", "KeyH", 72),
+    i("i", "I", "KeyI", 73),
+    j("j", "J", "KeyJ", 74),
+    k("k", "K", "KeyK", 75),
+    l("l", "L", "KeyL", 76),
+    m("m", "M", "KeyM", 77),
+    n("n", "N", "KeyN", 78),
+    o("o", "O", "KeyO", 79),
+    p("p", "P", "KeyP", 80),
+    q("q", "Q", "KeyQ", 81),
+    r("r", "R", "KeyR", 82),
+    s("s", "S", "KeyS", 83),
+    t("t", "T", "KeyT", 84),
+    u("u", "U", "KeyU", 85),
+    v("v", "V", "KeyV", 86),
+    w("w", "W", "KeyW", 87),
+    x("x", "X", "KeyX", 88),
+    y("y", "Y", "KeyY", 89),
+    z("z", "Z", "KeyZ", 90),
+    DIGIT_0("0", ")", "Digit0", 48),
+    DIGIT_1("1", "!", "Digit1", 49),
+    DIGIT_2("2", "@", "Digit2", 50),
+    DIGIT_3("3", "#", "Digit3", 51),
+    DIGIT_4("4", "$", "Digit4", 52),
+    DIGIT_5("5", "%", "Digit5", 53),
+    DIGIT_6("6", "^", "Digit6", 54),
+    DIGIT_7("7", "&", "Digit7", 55),
+    DIGIT_8("8", "*", "Digit8", 56),
+    DIGIT_9("9", "(", "Digit9", 57),
+    SPACE(" ", null, "Space", 32),
+    MINUS("-", "_", "Minus", 189),
+    EQUAL("=", "+", "Equal", 187),
+    BRACKET_LEFT("[", "{", "BracketLeft", 219),
+    BRACKET_RIGHT("]", "}", "BracketRight", 221),
+    BACKSLASH("\\", "|", "Backslash", 220),
+    SEMICOLON(";", ":", "Semicolon", 186),
+    QUOTE("'", "\"", "Quote", 222),
+    COMMA(",", "<", "Comma", 188),
+    PERIOD(".", ">", "Period", 190),
+    SLASH("/", "?", "Slash", 191),
+    BACKQUOTE("`", "~", "Backquote", 192),
+    ENTER("Enter", "Enter", 13, "\r", Keys.ENTER, Keys.RETURN),
+    TAB("Tab", "Tab", 9, null, Keys.TAB),
+    BACKSPACE("Backspace", "Backspace", 8, null, Keys.BACK_SPACE),
+    DELETE("Delete", "Delete", 46, null, Keys.DELETE),
+    ESCAPE("Escape", "Escape", 27, null, Keys.ESCAPE),
+    INSERT("Insert", "Insert", 45, null, Keys.INSERT),
+    HOME("Home", "Home", 36, null, Keys.HOME),
+    END("End", "End", 35, null, Keys.END),
+    PAGE_UP("PageUp", "PageUp", 33, null, Keys.PAGE_UP),
+    PAGE_DOWN("PageDown", "PageDown", 34, null, Keys.PAGE_DOWN),
+    ARROW_LEFT("ArrowLeft", "ArrowLeft", 37, null, Keys.LEFT, Keys.ARROW_LEFT),
+    ARROW_UP("ArrowUp", "ArrowUp", 38, null, Keys.UP, Keys.ARROW_UP),
+    ARROW_RIGHT("ArrowRight", "ArrowRight", 39, null, Keys.RIGHT, Keys.ARROW_RIGHT),
+    ARROW_DOWN("ArrowDown", "ArrowDown", 40, null, Keys.DOWN, Keys.ARROW_DOWN),
+    SHIFT("Shift", "ShiftLeft", 16, null, Keys.SHIFT, Keys.LEFT_SHIFT),
+    CONTROL("Control", "ControlLeft", 17, null, Keys.CONTROL, Keys.LEFT_CONTROL),
+    ALT("Alt", "AltLeft", 18, null, Keys.ALT, Keys.LEFT_ALT),
+    META("Meta", "MetaLeft", 91, null, Keys.META, Keys.COMMAND),
+    F1("F1", "F1", 112, null, Keys.F1),
+    F2("F2", "F2", 113, null, Keys.F2),
+    F3("F3", "F3", 114, null, Keys.F3),
+    F4("F4", "F4", 115, null, Keys.F4),
+    F5("F5", "F5", 116, null, Keys.F5),
+    F6("F6", "F6", 117, null, Keys.F6),
+    F7("F7", "F7", 118, null, Keys.F7),
+    F8("F8", "F8", 119, null, Keys.F8),
+    F9("F9", "F9", 120, null, Keys.F9),
+    F10("F10", "F10", 121, null, Keys.F10),
+    F11("F11", "F11", 122, null, Keys.F11),
+    F12("F12", "F12", 123, null, Keys.F12);
+
+    public static final int MODIFIER_ALT = 1;
+    public static final int MODIFIER_CONTROL = 2;
+    public static final int MODIFIER_META = 4;
+    public static final int MODIFIER_SHIFT = 8;
+
+    private static final Map<Character, KeyStroke> strokes = new HashMap<>();
 
-    private final char key;
+    static {
+        for (KeyboardCode keyboardCode : values()) {
+            if (keyboardCode.isPrintable()) {
+                strokes.put(keyboardCode.key.charAt(0), new KeyStroke(keyboardCode, false));
+                if (keyboardCode.shiftKey != null) {
+                    strokes.put(keyboardCode.shiftKey.charAt(0), new KeyStroke(keyboardCode, true));
+                }
+            }
+            for (Keys seleniumKey : keyboardCode.seleniumKeys) {
+                strokes.put(seleniumKey.charAt(0), new KeyStroke(keyboardCode, false));
+            }
+        }
+        strokes.put('\n', new KeyStroke(ENTER, false));
+        strokes.put('\r', new KeyStroke(ENTER, false));
+        strokes.put('\t', new KeyStroke(TAB, false));
+        strokes.put('\b', new KeyStroke(BACKSPACE, false));
+    }
+
+    private final String key;
+    private final String shiftKey;
     private final String code;
     private final int windowsVirtualKeyCode;
+    private final String text;
+    private final Keys[] seleniumKeys;
 
+    KeyboardCode(String key, String shiftKey, String code, int windowsVirtualKeyCode) {
+        this(key, shiftKey, code, windowsVirtualKeyCode, key);
+    }
 
-    KeyboardCode(char key, String code, int windowsVirtualKeyCode) {
+    KeyboardCode(String key, String code, int windowsVirtualKeyCode, String text, Keys... seleniumKeys) {
+        this(key, null, code, windowsVirtualKeyCode, text, seleniumKeys);
+    }
+
+    KeyboardCode(String key, String shiftKey, String code, int windowsVirtualKeyCode, String text, Keys... seleniumKeys) {
         this.key = key;
+        this.shiftKey = shiftKey;
         this.code = code;
         this.windowsVirtualKeyCode = windowsVirtualKeyCode;
+        this.text = text;
+        this.seleniumKeys = seleniumKeys;
+    }
+
+    public boolean isPrintable() {
+        return key.length() == 1;
+    }
+
+    public int getModifierFlag() {
+        return switch (this) {
+            case ALT -> MODIFIER_ALT;
+            case CONTROL -> MODIFIER_CONTROL;
+            case META -> MODIFIER_META;
+            case SHIFT -> MODIFIER_SHIFT;
+            default -> 0;
+        };
+    }
+
+    public static KeyStroke forChar(char ch) {
+        return strokes.get(ch);
     }
 }
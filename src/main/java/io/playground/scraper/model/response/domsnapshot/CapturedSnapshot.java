@@ -0,0 +1,6 @@
+package io.playground.scraper.model.response.domsnapshot;
+
+import java.util.List;
+
+public record CapturedSnapshot(List<DocumentSnapshot> documents, String[] strings) {
+}
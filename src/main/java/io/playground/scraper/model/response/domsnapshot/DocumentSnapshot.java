@@ -0,0 +1,9 @@
+package io.playground.scraper.model.response.domsnapshot;
+
+public record DocumentSnapshot(
+        int documentURL,
+        int title,
+        NodeTreeSnapshot nodes,
+        LayoutTreeSnapshot layout
+) {
+}
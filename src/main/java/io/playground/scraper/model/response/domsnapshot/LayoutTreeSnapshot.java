@@ -0,0 +1,8 @@
+package io.playground.scraper.model.response.domsnapshot;
+
+public record LayoutTreeSnapshot(
+        int[] nodeIndex,
+        int[][] styles,
+        double[][] bounds
+) {
+}
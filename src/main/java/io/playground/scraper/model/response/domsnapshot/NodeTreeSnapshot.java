@@ -0,0 +1,14 @@
+package io.playground.scraper.model.response.domsnapshot;
+
+public record NodeTreeSnapshot(
+        int[] parentIndex,
+        int[] nodeType,
+        int[] nodeName,
+        int[] nodeValue,
+        int[] backendNodeId,
+        int[][] attributes,
+        RareStringData textValue,
+        RareStringData inputValue,
+        RareIntegerData contentDocumentIndex
+) {
+}
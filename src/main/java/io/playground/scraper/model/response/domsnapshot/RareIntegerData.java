@@ -0,0 +1,4 @@
+package io.playground.scraper.model.response.domsnapshot;
+
+public record RareIntegerData(int[] index, int[] value) {
+}
@@ -0,0 +1,4 @@
+package io.playground.scraper.model.response.domsnapshot;
+
+public record RareStringData(int[] index, int[] value) {
+}
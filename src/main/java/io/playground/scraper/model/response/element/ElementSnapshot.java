@@ -0,0 +1,37 @@
+package io.playground.scraper.model.response.element;
+
+import io.playground.scraper.constant.Constant;
+import io.playground.scraper.model.response.boxmodel.Rect;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public record ElementSnapshot(
+        String tagName,
+        String text,
+        Rect rect,
+        Boolean displayed,
+        Map<String, String> attributes,
+        Map<String, String> cssValues
+) {
+
+    public ElementSnapshot {
+        attributes = attributes == null ? Map.of() : Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+        cssValues = cssValues == null ? Map.of() : Collections.unmodifiableMap(new LinkedHashMap<>(cssValues));
+    }
+
+    public String getAttribute(String name) {
+        String value = attributes.get(name);
+        return value != null ? value : Constant.ELEMENT_NOT_FOUND;
+    }
+
+    public String getCssValue(String propertyName) {
+        String value = cssValues.get(propertyName);
+        return value != null ? value : Constant.ELEMENT_NOT_FOUND;
+    }
+
+    public boolean isDisplayed() {
+        return displayed != null && displayed;
+    }
+}
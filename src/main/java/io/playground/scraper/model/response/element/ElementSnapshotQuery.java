@@ -0,0 +1,27 @@
+package io.playground.scraper.model.response.element;
+
+import lombok.Builder;
+import lombok.Singular;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Builder
+public record ElementSnapshotQuery(
+        boolean tagName,
+        boolean text,
+        boolean rect,
+        boolean displayed,
+        @Singular List<String> attributes,
+        @Singular List<String> cssProperties
+) {
+
+    public static ElementSnapshotQuery of(SnapshotField... fields) {
+        List<SnapshotField> requested = Arrays.asList(fields);
+        return builder().tagName(requested.contains(SnapshotField.TAG_NAME))
+                        .text(requested.contains(SnapshotField.TEXT))
+                        .rect(requested.contains(SnapshotField.RECT))
+                        .displayed(requested.contains(SnapshotField.DISPLAYED))
+                        .build();
+    }
+}
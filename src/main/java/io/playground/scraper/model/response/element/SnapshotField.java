@@ -0,0 +1,8 @@
+package io.playground.scraper.model.response.element;
+
+public enum SnapshotField {
+    TAG_NAME,
+    TEXT,
+    RECT,
+    DISPLAYED
+}
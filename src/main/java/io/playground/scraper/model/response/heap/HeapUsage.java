@@ -0,0 +1,4 @@
+package io.playground.scraper.model.response.heap;
+
+public record HeapUsage(double usedSize, double totalSize) {
+}
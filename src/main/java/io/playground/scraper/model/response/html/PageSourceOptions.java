@@ -0,0 +1,22 @@
+package io.playground.scraper.model.response.html;
+
+import lombok.Builder;
+
+@Builder
+public record PageSourceOptions(
+        boolean gzip,
+        boolean stripScripts,
+        boolean stripStyles,
+        int chunkSize
+) {
+
+    public static final int DEFAULT_CHUNK_SIZE = 512 * 1024;
+
+    public static PageSourceOptions defaults() {
+        return builder().build();
+    }
+
+    public int getChunkSize() {
+        return chunkSize > 0 ? chunkSize : DEFAULT_CHUNK_SIZE;
+    }
+}
@@ -0,0 +1,4 @@
+package io.playground.scraper.model.response.html;
+
+public record PageSourceResult(long characters, long sourceBytes, long writtenBytes, int chunks) {
+}
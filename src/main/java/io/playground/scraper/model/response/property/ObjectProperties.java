@@ -0,0 +1,6 @@
+package io.playground.scraper.model.response.property;
+
+import java.util.List;
+
+public record ObjectProperties(List<PropertyDescriptor> result) {
+}
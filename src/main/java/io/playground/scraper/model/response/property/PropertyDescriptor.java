@@ -0,0 +1,14 @@
+package io.playground.scraper.model.response.property;
+
+import io.playground.scraper.model.response.ResolvedNode;
+
+public record PropertyDescriptor(String name, ResolvedNode value) {
+    
+    public int getIndex() {
+        try {
+            return Integer.parseInt(name);
+        } catch (Exception ignored) {
+        }
+        return -1;
+    }
+}
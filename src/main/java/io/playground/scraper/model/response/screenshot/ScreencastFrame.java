@@ -0,0 +1,23 @@
+package io.playground.scraper.model.response.screenshot;
+
+import io.playground.scraper.util.Base64Util;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+
+public record ScreencastFrame(String data, ScreencastFrameMetadata metadata, int sessionId) {
+
+    public byte[] getBytes() {
+        return Base64.getDecoder().decode(data);
+    }
+
+    public long writeTo(Path destination) throws IOException {
+        try (FileChannel channel = FileChannel.open(destination, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            return Base64Util.decodeTo(data, channel);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package io.playground.scraper.model.response.screenshot;
+
+public record ScreencastFrameMetadata(
+        double offsetTop,
+        double pageScaleFactor,
+        double deviceWidth,
+        double deviceHeight,
+        double scrollOffsetX,
+        double scrollOffsetY,
+        Double timestamp
+) {
+}
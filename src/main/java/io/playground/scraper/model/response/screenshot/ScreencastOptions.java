@@ -0,0 +1,23 @@
+package io.playground.scraper.model.response.screenshot;
+
+import lombok.Builder;
+
+@Builder
+public record ScreencastOptions(
+        ScreenshotFormat format,
+        Integer quality,
+        Integer maxWidth,
+        Integer maxHeight,
+        Integer everyNthFrame
+) {
+
+    public ScreencastOptions {
+        if (format == ScreenshotFormat.WEBP) {
+            throw new IllegalArgumentException("Screencast supports only jpeg and png frames, not " + format.getFormat());
+        }
+    }
+
+    public ScreenshotFormat getFormat() {
+        return format != null ? format : ScreenshotFormat.JPEG;
+    }
+}
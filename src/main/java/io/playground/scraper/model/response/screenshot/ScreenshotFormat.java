@@ -0,0 +1,18 @@
+package io.playground.scraper.model.response.screenshot;
+
+import lombok.Getter;
+
+@Getter
+public enum ScreenshotFormat {
+    PNG("png", ".png"),
+    JPEG("jpeg", ".jpg"),
+    WEBP("webp", ".webp");
+
+    private final String format;
+    private final String extension;
+
+    ScreenshotFormat(String format, String extension) {
+        this.format = format;
+        this.extension = extension;
+    }
+}
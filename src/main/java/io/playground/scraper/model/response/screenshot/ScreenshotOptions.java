@@ -0,0 +1,21 @@
+package io.playground.scraper.model.response.screenshot;
+
+import lombok.Builder;
+
+@Builder(toBuilder = true)
+public record ScreenshotOptions(
+        ScreenshotFormat format,
+        Integer quality,
+        ViewPort clip,
+        boolean optimizeForSpeed,
+        boolean captureBeyondViewport
+) {
+
+    public static ScreenshotOptions png() {
+        return builder().format(ScreenshotFormat.PNG).build();
+    }
+
+    public ScreenshotFormat getFormat() {
+        return format != null ? format : ScreenshotFormat.PNG;
+    }
+}
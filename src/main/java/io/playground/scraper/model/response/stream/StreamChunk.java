@@ -0,0 +1,12 @@
+package io.playground.scraper.model.response.stream;
+
+public record StreamChunk(Boolean base64Encoded, String data, Boolean eof) {
+    
+    public boolean isBase64Encoded() {
+        return Boolean.TRUE.equals(base64Encoded);
+    }
+    
+    public boolean isEof() {
+        return Boolean.TRUE.equals(eof);
+    }
+}
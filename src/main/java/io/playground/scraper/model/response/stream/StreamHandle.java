@@ -0,0 +1,4 @@
+package io.playground.scraper.model.response.stream;
+
+public record StreamHandle(String data, String stream) {
+}
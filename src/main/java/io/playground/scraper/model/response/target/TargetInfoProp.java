@@ -7,6 +7,7 @@ public record TargetInfoProp(
         String url,
         Boolean attached,
         Boolean canAccessOpener,
+        String openerId,
         String browserContextId
 ) {
 }
@@ -0,0 +1,36 @@
+package io.playground.scraper.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Base64;
+
+public class Base64Util {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private Base64Util() {}
+
+    public static long decodeTo(String base64, WritableByteChannel channel) throws IOException {
+        Base64.Decoder decoder = Base64.getDecoder();
+        ByteBuffer encoded = ByteBuffer.allocate(CHUNK_SIZE);
+        ByteBuffer decoded = ByteBuffer.allocate(CHUNK_SIZE / 4 * 3);
+        long written = 0;
+        int length = base64.length();
+        for (int start = 0; start < length; start += CHUNK_SIZE) {
+            int end = Math.min(length, start + CHUNK_SIZE);
+            encoded.clear();
+            for (int i = start; i < end; i++) {
+                encoded.put((byte) base64.charAt(i));
+            }
+            encoded.flip();
+            decoded.clear();
+            decoded.put(decoder.decode(encoded));
+            decoded.flip();
+            while (decoded.hasRemaining()) {
+                written += channel.write(decoded);
+            }
+        }
+        return written;
+    }
+}
@@ -3,15 +3,13 @@ package io.playground.scraper.util;
 import io.playground.scraper.core.DevToolsClient;
 import io.playground.scraper.core.UCDriver;
 import io.playground.scraper.core.UCElement;
+import io.playground.scraper.core.devtools.PageFunctions;
 import io.playground.scraper.model.response.boxmodel.Rect;
 import lombok.extern.slf4j.Slf4j;
-import org.awaitility.Awaitility;
 import org.openqa.selenium.*;
 import org.openqa.selenium.remote.RemoteWebElement;
 
 import java.nio.file.Path;
-import java.time.Duration;
-import java.util.Map;
 
 @Slf4j
 public class DriverUtil {
@@ -50,10 +48,7 @@ public class DriverUtil {
     public static boolean waitForLoadingToFinish(WebDriver driver, int timeoutInMs) {
         try {
             if (driver instanceof UCDriver ucDriver) {
-                return Awaitility.waitAtMost(Duration.ofMillis(timeoutInMs))
-                                 .pollDelay(Duration.ZERO)
-                                 .ignoreExceptions()
-                                 .until(() -> ucDriver.getClient().waitForLoadingEventToStop(), result -> result);
+                return ucDriver.getClient().waitForNetworkIdle(timeoutInMs);
             }
         } catch (Exception ignored){
         }
@@ -99,11 +94,8 @@ public class DriverUtil {
                 DevToolsClient client = ucDriver.getClient();
                 Rect elementRect = getRect(element);
                 if (elementRect.isNotNull()) {
-                    String script = """
-                                    let elementRect = arguments[0];
-                                    obj.scrollTo(elementRect.x, elementRect.y);
-                                    """;
-                    client.executeScript(script, ((RemoteWebElement) container).getId(), Map.of("value", elementRect));
+                    client.callFunction(((RemoteWebElement) container).getId(), PageFunctions.SCROLL_TO, "json", 
+                                        elementRect);
                 }
             }
         } catch (Exception e) {
@@ -3,6 +3,7 @@ package io.playground.scraper.util;
 import com.fasterxml.jackson.annotation.JsonSetter;
 import com.fasterxml.jackson.annotation.Nulls;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.json.JsonReadFeature;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -167,6 +168,30 @@ public class JacksonUtil {
         }
     }
 
+    public static <T> T readValue(JsonParser parser, Class<T> valueType) {
+        try {
+            return objectMapper.readValue(parser, valueType);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static <T> T readValue(JsonParser parser, TypeReference<T> valueType) {
+        try {
+            return objectMapper.readValue(parser, valueType);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static JsonParser createParser(String content) {
+        try {
+            return objectMapper.createParser(content);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     /**
      * Parse json file into an object of target class.
      * Example: MyCustomClass object = JacksonUtil.parseJsonFileAsMap(filePath, MyCustomClass.class);
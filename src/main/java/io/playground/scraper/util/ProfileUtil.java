@@ -0,0 +1,218 @@
+package io.playground.scraper.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Provisions temporary Chrome profiles by cloning a template that is written once per JVM, root folder and preference
+ * set.
+ * Files are hardlinked into the new profile and only copied where the file system doesn't support links; Chrome
+ * replaces Preferences by writing a new file and renaming it, so it never writes through a link into the template.
+ * Retired profiles are deleted on a background thread, with retries for files Chrome still holds open; whatever is
+ * still queued or active when the JVM exits is deleted by a shutdown hook. Every profile and template carries an owner
+ * file with the pid and start time of its JVM, and leftovers whose owner is no longer running are swept once per root
+ * folder, so roots shared by several JVMs are safe.
+ */
+@Slf4j
+public class ProfileUtil {
+
+    private static final String TEMPLATE_PREFIX = "template-profile-";
+    private static final String PROFILE_PREFIX = "temp-profile-";
+    private static final String OWNER_FILE = ".scraper-owner";
+    private static final String OWNER = ownerOf(ProcessHandle.current());
+    private static final int MAX_DELETE_ATTEMPTS = 5;
+    private static final Duration STALE_PROFILE_AGE = Duration.ofHours(12);
+    private static final ExecutorService cleaner = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("profile-cleaner").daemon().factory());
+    private static final Map<String, Path> templates = new ConcurrentHashMap<>();
+    private static final Set<Path> sweptRoots = ConcurrentHashMap.newKeySet();
+    private static final Set<Path> activeProfiles = ConcurrentHashMap.newKeySet();
+    private static final Set<Path> pendingDeletions = ConcurrentHashMap.newKeySet();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            activeProfiles.forEach(ProfileUtil::deleteTree);
+            pendingDeletions.forEach(ProfileUtil::deleteTree);
+        }));
+    }
+
+    private ProfileUtil() {}
+
+    public static Path provision(Path root, Map<String, Object> preferences) throws IOException {
+        Path absoluteRoot = Files.createDirectories(root).toAbsolutePath();
+        if (sweptRoots.add(absoluteRoot)) {
+            cleaner.execute(() -> sweepStaleProfiles(absoluteRoot));
+        }
+        String preferencesJson = JacksonUtil.writeValueAsString(preferences);
+        Path template = getTemplate(absoluteRoot, preferencesJson);
+        Path profile = absoluteRoot.resolve(PROFILE_PREFIX + UUID.randomUUID());
+        activeProfiles.add(profile);
+        try {
+            cloneTree(template, profile);
+            writeOwner(profile);
+        } catch (IOException e) {
+            retire(profile);
+            throw e;
+        }
+        return profile;
+    }
+
+    public static void retire(Path profile) {
+        if (profile != null && activeProfiles.contains(profile)) {
+            pendingDeletions.add(profile);
+            activeProfiles.remove(profile);
+            cleaner.execute(() -> delete(profile, 1));
+        }
+    }
+
+    private static Path getTemplate(Path root, String preferencesJson) throws IOException {
+        String key = root + "|" + preferencesJson;
+        Path template = templates.get(key);
+        if (template != null) {
+            return template;
+        }
+        synchronized (templates) {
+            template = templates.get(key);
+            if (template == null) {
+                template = root.resolve(TEMPLATE_PREFIX + UUID.randomUUID());
+                activeProfiles.add(template);
+                Path defaultFolder = Files.createDirectories(template.resolve("Default"));
+                writeOwner(template);
+                Path preferencesPath = defaultFolder.resolve("Preferences");
+                Files.write(preferencesPath, List.of(preferencesJson), StandardCharsets.UTF_8);
+                templates.put(key, template);
+            }
+            return template;
+        }
+    }
+
+    private static void cloneTree(Path source, Path target) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (file.getFileName().toString().equals(OWNER_FILE)) {
+                    return FileVisitResult.CONTINUE;
+                }
+                Path destination = target.resolve(source.relativize(file));
+                try {
+                    Files.createLink(destination, file);
+                } catch (UnsupportedOperationException | IOException e) {
+                    Files.copy(file, destination, StandardCopyOption.REPLACE_EXISTING);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static void delete(Path profile, int attempt) {
+        if (deleteTree(profile)) {
+            pendingDeletions.remove(profile);
+            return;
+        }
+        if (attempt >= MAX_DELETE_ATTEMPTS) {
+            log.warn("Couldn't delete profile {}, leaving it to the shutdown hook", profile);
+            return;
+        }
+        long delay = 500L << attempt;
+        Thread.ofVirtual().start(() -> {
+            SleepUtil.sleep(delay);
+            cleaner.execute(() -> delete(profile, attempt + 1));
+        });
+    }
+
+    private static boolean deleteTree(Path path) {
+        if (!Files.exists(path)) {
+            return true;
+        }
+        try {
+            Files.walkFileTree(path, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    try {
+                        Files.delete(file);
+                    } catch (IOException ignored) {
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException e) {
+                    try {
+                        Files.delete(dir);
+                    } catch (IOException ignored) {
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            log.debug("Couldn't delete profile {}: {}", path, e.getMessage());
+        }
+        return !Files.exists(path);
+    }
+
+    private static void sweepStaleProfiles(Path root) {
+        Instant threshold = Instant.now().minus(STALE_PROFILE_AGE);
+        try (Stream<Path> children = Files.list(root)) {
+            children.filter(path -> path.getFileName().toString().startsWith(PROFILE_PREFIX)
+                            || path.getFileName().toString().startsWith(TEMPLATE_PREFIX))
+                    .filter(path -> !activeProfiles.contains(path) && !pendingDeletions.contains(path))
+                    .filter(path -> isAbandoned(path, threshold))
+                    .forEach(ProfileUtil::deleteTree);
+        } catch (IOException e) {
+            log.debug("Couldn't sweep profiles in {}: {}", root, e.getMessage());
+        }
+    }
+
+    /**
+     * A profile is abandoned when the JVM written to its owner file is no longer running. Folders without an owner file
+     * (a JVM that died while creating one) fall back to their age.
+     */
+    private static boolean isAbandoned(Path path, Instant threshold) {
+        try {
+            Path ownerFile = path.resolve(OWNER_FILE);
+            if (Files.exists(ownerFile)) {
+                String owner = Files.readString(ownerFile, StandardCharsets.UTF_8).trim();
+                long pid = Long.parseLong(owner.split(" ", 2)[0]);
+                return ProcessHandle.of(pid).map(process -> process.info().startInstant().isPresent() 
+                                                            && !ownerOf(process).equals(owner))
+                                    .orElse(true);
+            }
+            return Files.getLastModifiedTime(path).toInstant().isBefore(threshold);
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static void writeOwner(Path path) throws IOException {
+        Files.writeString(path.resolve(OWNER_FILE), OWNER, StandardCharsets.UTF_8);
+    }
+
+    private static String ownerOf(ProcessHandle process) {
+        return process.pid() + " " + process.info().startInstant().map(Instant::toEpochMilli).orElse(0L);
+    }
+}
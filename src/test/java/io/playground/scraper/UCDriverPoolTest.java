@@ -0,0 +1,52 @@
+package io.playground.scraper;
+
+import io.playground.common.BaseTP;
+import io.playground.scraper.core.UCDriver;
+import io.playground.scraper.core.UCDriverOptions;
+import io.playground.scraper.core.UCDriverPool;
+import io.playground.scraper.core.UCDriverPoolOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.Test;
+
+@Slf4j
+public class UCDriverPoolTest extends BaseTP {
+
+    private static final String BLOAT_PAGE_SCRIPT =
+            "window.__bloat = Array.from({length: 16}, () => new Array(1024 * 1024).fill(Math.random()));";
+
+    @Test
+    public void testBloatedDriverIsRecycled() {
+        UCDriverPoolOptions options = UCDriverPoolOptions.builder()
+                                                         .driverOptions(UCDriverOptions.builder().build())
+                                                         .size(1)
+                                                         .maxHeapGrowthInMb(64)
+                                                         .build();
+        try (UCDriverPool pool = new UCDriverPool(options)) {
+            UCDriver first;
+            try (UCDriverPool.Lease lease = pool.lease()) {
+                first = lease.getDriver();
+                first.get("https://example.com");
+            }
+
+            UCDriver second;
+            try (UCDriverPool.Lease lease = pool.lease()) {
+                second = lease.getDriver();
+                second.get("https://example.com");
+                second.executeScript(BLOAT_PAGE_SCRIPT);
+                log.info("Heap before release: {}", second.getHeapUsage());
+            }
+
+            UCDriver third;
+            try (UCDriverPool.Lease lease = pool.lease()) {
+                third = lease.getDriver();
+            }
+
+            softly().as("Driver reused after a light job")
+                    .assertThat(second)
+                    .isSameAs(first);
+            softly().as("Driver recycled after a bloated job")
+                    .assertThat(third)
+                    .isNotSameAs(second);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package io.playground.scraper.core.devtools;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DevToolsMetricsTest {
+
+    @DataProvider
+    public Object[][] messages() {
+        return new Object[][] {
+                {""},
+                {"{\"id\":1,\"method\":\"Page.enable\"}"},
+                {"{\"value\":\"Grüße\"}"},
+                {"{\"value\":\"日本語\"}"},
+                {"{\"value\":\"😀 smile\"}"},
+                {"{\"value\":\"\uD83D unpaired\"}"},
+                {"\uDE00"},
+        };
+    }
+
+    @Test(dataProvider = "messages")
+    public void testUtf8LengthMatchesEncodedBytes(String message) {
+        assertThat(DevToolsMetrics.utf8Length(message)).isEqualTo(message.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    public void testTrafficIsCountedInBytes() {
+        DevToolsMetrics metrics = new DevToolsMetrics();
+        metrics.commandSent("{\"expression\":\"'é'\"}");
+        metrics.messageReceived("{\"result\":\"€\"}");
+
+        assertThat(metrics.getBytesSent()).isEqualTo(21);
+        assertThat(metrics.getBytesReceived()).isEqualTo(16);
+    }
+}
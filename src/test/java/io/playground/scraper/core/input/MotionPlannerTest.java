@@ -0,0 +1,133 @@
+package io.playground.scraper.core.input;
+
+import io.playground.scraper.model.response.boxmodel.Point;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class MotionPlannerTest {
+
+    private static final Point FROM = new Point(100, 100);
+    private static final long SEED = 42;
+
+    @Test
+    public void testNoneJumpsToTarget() {
+        Point to = new Point(900, 500);
+
+        List<TimedPoint> points = MotionPlanner.plan(FROM, to, 10, MotionFidelity.NONE);
+
+        assertThat(points).containsExactly(new TimedPoint(to, 0));
+    }
+
+    @Test
+    public void testTinyMoveJumpsToTarget() {
+        Point to = new Point(100.5, 100.5);
+
+        assertThat(MotionPlanner.plan(FROM, to, 10, MotionFidelity.HUMAN_LIKE)).containsExactly(new TimedPoint(to, 0));
+    }
+
+    @Test
+    public void testSameSeedReproducesTrajectory() {
+        Point to = new Point(1100, 400);
+
+        assertThat(MotionPlanner.plan(FROM, to, 10, MotionFidelity.HUMAN_LIKE, new Random(SEED)))
+                .isEqualTo(MotionPlanner.plan(FROM, to, 10, MotionFidelity.HUMAN_LIKE, new Random(SEED)));
+    }
+
+    @Test
+    public void testFastIsShortCurveWithoutDelays() {
+        List<TimedPoint> points = MotionPlanner.plan(FROM, new Point(700, 300), 10, MotionFidelity.FAST,
+                                                     new Random(SEED));
+
+        assertTrajectory(points, new double[][] {
+                {183.4358, 164.5075, 0},
+                {278.5329, 216.2533, 0},
+                {381.5146, 255.4563, 0},
+                {488.6042, 282.3357, 0},
+                {596.0249, 297.1105, 0},
+                {700.0000, 300.0000, 0},
+        });
+    }
+
+    @Test
+    public void testHumanLikeEasesAlongJitteredCurve() {
+        List<TimedPoint> points = MotionPlanner.plan(FROM, new Point(400, 100), 300, MotionFidelity.HUMAN_LIKE,
+                                                     new Random(SEED));
+
+        assertTrajectory(points, new double[][] {
+                {99.9071, 100.3612, 17},
+                {102.7602, 100.5447, 34},
+                {106.8218, 102.3450, 51},
+                {117.6646, 105.7276, 68},
+                {134.0893, 108.3576, 84},
+                {160.2130, 108.8516, 101},
+                {198.4334, 106.4860, 118},
+                {250.5215, 98.9317, 135},
+                {301.8575, 92.4825, 152},
+                {339.7192, 90.0361, 169},
+                {366.2131, 90.8262, 186},
+                {382.5608, 95.1968, 203},
+                {392.6877, 98.2437, 219},
+                {398.2266, 99.1805, 236},
+                {399.4029, 100.6192, 253},
+                {400.0000, 100.0000, 270},
+        });
+    }
+
+    @Test
+    public void testLongMoveOvershootsAndCorrects() {
+        Point to = new Point(1100, 100);
+
+        List<TimedPoint> overshooting = MotionPlanner.plan(FROM, to, 10, MotionFidelity.HUMAN_LIKE, new Random(0));
+        List<TimedPoint> direct = MotionPlanner.plan(FROM, to, 10, MotionFidelity.HUMAN_LIKE, new Random(2));
+
+        assertThat(overshooting).hasSize(73);
+        assertThat(overshooting.getLast()).isEqualTo(new TimedPoint(to, 1188));
+        assertThat(overshooting.stream().mapToDouble(point -> point.point().x()).max().orElseThrow())
+                .isCloseTo(1162.6404, within(1e-4));
+        assertThat(direct).hasSize(59);
+        assertThat(direct.getLast()).isEqualTo(new TimedPoint(to, 950));
+        assertThat(direct).allSatisfy(point -> assertThat(point.point().x()).isLessThanOrEqualTo(to.x()));
+    }
+
+    @Test
+    public void testHumanLikeStaysWithinBounds() {
+        Point to = new Point(350, 350);
+        double distance = Math.hypot(250, 250);
+        double indexOfDifficulty = Math.log(distance / 20 + 1) / Math.log(2);
+
+        for (int seed = 0; seed < 100; seed++) {
+            List<TimedPoint> points = MotionPlanner.plan(FROM, to, 20, MotionFidelity.HUMAN_LIKE, new Random(seed));
+
+            long duration = points.getLast().offsetInMs();
+            assertThat(duration).isBetween(Math.round(150 + 110 * indexOfDifficulty * 0.8) - 1,
+                                           Math.round(150 + 110 * indexOfDifficulty * 1.2) + 1);
+            assertThat(points).hasSize((int) Math.max(2, duration / 16));
+            assertThat(points.getLast().point()).isEqualTo(to);
+            long previous = 0;
+            for (TimedPoint timedPoint : points) {
+                Point point = timedPoint.point();
+                double deviation = Math.abs((point.x() - FROM.x()) - (point.y() - FROM.y())) / Math.sqrt(2);
+                assertThat(deviation).isLessThanOrEqualTo(0.3 * distance + 1);
+                assertThat(point.x()).isGreaterThanOrEqualTo(0);
+                assertThat(point.y()).isGreaterThanOrEqualTo(0);
+                assertThat(timedPoint.offsetInMs()).isGreaterThan(previous);
+                previous = timedPoint.offsetInMs();
+            }
+        }
+    }
+
+    private static void assertTrajectory(List<TimedPoint> points, double[][] expected) {
+        assertThat(points).hasSize(expected.length);
+        for (int i = 0; i < expected.length; i++) {
+            TimedPoint point = points.get(i);
+            assertThat(point.point().x()).as("x of point %d", i).isCloseTo(expected[i][0], within(1e-4));
+            assertThat(point.point().y()).as("y of point %d", i).isCloseTo(expected[i][1], within(1e-4));
+            assertThat(point.offsetInMs()).as("offset of point %d", i).isEqualTo((long) expected[i][2]);
+        }
+    }
+}
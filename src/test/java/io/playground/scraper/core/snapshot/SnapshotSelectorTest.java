@@ -0,0 +1,288 @@
+package io.playground.scraper.core.snapshot;
+
+import io.playground.scraper.model.response.domsnapshot.*;
+import org.openqa.selenium.InvalidSelectorException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SnapshotSelectorTest {
+
+    private DomSnapshot snapshot;
+
+    /**
+     * <pre>
+     * #document
+     *   html > body
+     *     div#main.content.wide[data-x=a-b]
+     *       p.first      "Hello   World "
+     *       p[lang=en-US] "Second"
+     *       a[href=https://x.com/page.html][title=link one] "Go"
+     *     div#side
+     *       span "Side"
+     *       iframe -> #document
+     *                   html > body > a[href=/inner] "Inner"
+     * </pre>
+     */
+    @BeforeClass
+    public void buildSnapshot() {
+        SnapshotBuilder builder = new SnapshotBuilder();
+        DocumentBuilder page = builder.document();
+        int html = page.element(0, "HTML");
+        int body = page.element(html, "BODY");
+        int main = page.element(body, "DIV", "id", "main", "class", "content wide", "data-x", "a-b");
+        page.text(page.element(main, "P", "class", "first"), "Hello   World ");
+        page.text(page.element(main, "P", "lang", "en-US"), "Second");
+        page.text(page.element(main, "A", "href", "https://x.com/page.html", "title", "link one"), "Go");
+        int side = page.element(body, "DIV", "id", "side");
+        page.text(page.element(side, "SPAN"), "Side");
+        int iframe = page.element(side, "IFRAME");
+        page.text(page.element(body, "FOOTER"), "End");
+
+        DocumentBuilder frame = builder.document();
+        int frameHtml = frame.element(0, "HTML");
+        int frameBody = frame.element(frameHtml, "BODY");
+        frame.text(frame.element(frameBody, "A", "href", "/inner"), "Inner");
+        page.contentDocument(iframe, 1);
+
+        snapshot = DomSnapshot.from(builder.build(), List.of());
+    }
+
+    @DataProvider
+    public Object[][] cssSelectors() {
+        return new Object[][] {
+                {"div p", List.of("p", "p")},
+                {"div > p", List.of("p", "p")},
+                {"body > p", List.of()},
+                {"html  >  body > div#side > span", List.of("span")},
+                {"#main .first", List.of("p")},
+                {"div.content.wide", List.of("div")},
+                {"*#side", List.of("div")},
+                {"span, a", List.of("a", "span", "a")},
+                {"[data-x]", List.of("div")},
+                {"[data-x=a-b]", List.of("div")},
+                {"[class~=wide]", List.of("div")},
+                {"[lang|=en]", List.of("p")},
+                {"[href^=https]", List.of("a")},
+                {"[href$='.html']", List.of("a")},
+                {"[href*=\"x.com\"]", List.of("a")},
+                {"[title='link one']", List.of("a")},
+                {"[href^='']", List.of()},
+                {"a", List.of("a", "a")},
+                {"iframe a", List.of("a")},
+                {"#main a", List.of("a")},
+                {"a, footer", List.of("a", "a", "footer")},
+        };
+    }
+
+    @Test(dataProvider = "cssSelectors")
+    public void testCss(String selector, List<String> expectedTags) {
+        assertThat(snapshot.select(selector)).extracting(SnapshotNode::getTagName)
+                                             .containsExactlyElementsOf(expectedTags);
+    }
+
+    @DataProvider
+    public Object[][] xpaths() {
+        return new Object[][] {
+                {"//p", 2},
+                {"/html", 1},
+                {"/html/body/div", 2},
+                {"/html/body/a", 0},
+                {"//div/p[1]", 1},
+                {"//div[@id='main']/*[3]", 1},
+                {"//p[2]", 1},
+                {"//p[3]", 0},
+                {"//p[text()='Second']", 1},
+                {"//p[.='Second']", 1},
+                {"//p[normalize-space()='Hello World']", 1},
+                {"//p[normalize-space(.)='Hello World']", 1},
+                {"//a[contains(@href, 'x.com')]", 1},
+                {"//a[starts-with(@href, '/')]", 1},
+                {"//p[not(@class)]", 1},
+                {"//p[@lang!='de']", 1},
+                {"//div[@id='main' and @data-x]", 1},
+                {"//div[@id='none' or @id='side']", 1},
+                {"//div[(@id='main' or @id='side') and not(@class)]", 1},
+                {"//*[@title]", 1},
+        };
+    }
+
+    @Test(dataProvider = "xpaths")
+    public void testXPath(String xpath, int expectedCount) {
+        assertThat(snapshot.selectXPath(xpath)).hasSize(expectedCount);
+    }
+
+    @Test
+    public void testPositionalPredicateMatchesSecondSibling() {
+        assertThat(snapshot.selectXPath("//p[2]")).extracting(node -> node.getAttribute("lang"))
+                                                  .containsExactly("en-US");
+    }
+
+    @Test
+    public void testRelativeXPath() {
+        SnapshotNode main = snapshot.selectFirst("#main");
+        SnapshotNode side = snapshot.selectFirst("#side");
+
+        assertThat(main.selectXPath("./p")).hasSize(2);
+        assertThat(main.selectXPath("./a")).extracting(SnapshotNode::getText).containsExactly("Go");
+        assertThat(main.selectXPath(".//a")).hasSize(1);
+        assertThat(side.selectXPath("./a")).isEmpty();
+        assertThat(side.selectXPath(".//a")).extracting(node -> node.getAttribute("href")).containsExactly("/inner");
+        assertThat(side.select("a")).hasSize(1);
+    }
+
+    @Test
+    public void testFrameNodesAreOrderedAtTheirIframe() {
+        assertThat(snapshot.select("a, footer")).extracting(node -> node.getAttribute("href"))
+                                                .containsExactly("https://x.com/page.html", "/inner", null);
+        assertThat(snapshot.filter(node -> node.getNodeType() == DomSnapshot.DOCUMENT_NODE))
+                .containsExactlyElementsOf(snapshot.getDocuments());
+    }
+
+    @Test
+    public void testAbsoluteXPathStartsAtContextDocument() {
+        SnapshotNode main = snapshot.selectFirst("#main");
+        SnapshotNode inner = snapshot.selectFirst("iframe a");
+
+        assertThat(main.selectXPath("/html/body/div")).hasSize(2);
+        assertThat(main.selectXPath("/html/body/a")).isEmpty();
+        assertThat(inner.selectXPath("/html/body/a")).containsExactly(inner);
+        assertThat(inner.selectXPath("//a")).containsExactly(inner);
+    }
+
+    @Test
+    public void testTextStopsAtFrameBoundary() {
+        assertThat(snapshot.selectFirst("#side").getText()).isEqualTo("Side");
+        assertThat(snapshot.selectFirst("iframe").getChildren()).extracting(SnapshotNode::getNodeType)
+                                                                 .containsExactly(DomSnapshot.DOCUMENT_NODE);
+    }
+
+    @DataProvider
+    public Object[][] unsupportedSelectors() {
+        return new Object[][] {
+                {"a:hover", true},
+                {"p + a", true},
+                {"p ~ a", true},
+                {"div >", true},
+                {"div > > p", true},
+                {"div >, p", true},
+                {", a", true},
+                {"[href", true},
+                {"[href#='x']", true},
+                {"//a[last()]", false},
+                {"//p/following-sibling::a", false},
+                {"//a[contains(@href, x)]", false},
+                {"//a[@href='x'", false},
+                {"", false},
+        };
+    }
+
+    @Test(dataProvider = "unsupportedSelectors")
+    public void testUnsupportedSyntax(String selector, boolean css) {
+        assertThatThrownBy(() -> {
+            if (css) {
+                snapshot.select(selector);
+            } else {
+                snapshot.selectXPath(selector);
+            }
+        }).isInstanceOf(InvalidSelectorException.class);
+    }
+
+    private static final class SnapshotBuilder {
+
+        private final List<String> strings = new ArrayList<>();
+        private final List<DocumentBuilder> documents = new ArrayList<>();
+
+        private DocumentBuilder document() {
+            DocumentBuilder document = new DocumentBuilder(this);
+            documents.add(document);
+            return document;
+        }
+
+        private int string(String value) {
+            int index = strings.indexOf(value);
+            if (index < 0) {
+                strings.add(value);
+                index = strings.size() - 1;
+            }
+            return index;
+        }
+
+        private CapturedSnapshot build() {
+            List<DocumentSnapshot> snapshots = new ArrayList<>();
+            for (DocumentBuilder document : documents) {
+                snapshots.add(document.build());
+            }
+            return new CapturedSnapshot(snapshots, strings.toArray(String[]::new));
+        }
+    }
+
+    private static final class DocumentBuilder {
+
+        private final SnapshotBuilder owner;
+        private final List<Integer> parents = new ArrayList<>();
+        private final List<Integer> types = new ArrayList<>();
+        private final List<Integer> names = new ArrayList<>();
+        private final List<Integer> values = new ArrayList<>();
+        private final List<int[]> attributes = new ArrayList<>();
+        private final List<int[]> contentDocuments = new ArrayList<>();
+
+        private DocumentBuilder(SnapshotBuilder owner) {
+            this.owner = owner;
+            add(-1, DomSnapshot.DOCUMENT_NODE, "#document", null);
+        }
+
+        private int element(int parent, String name, String... nameValuePairs) {
+            int node = add(parent, DomSnapshot.ELEMENT_NODE, name, null);
+            int[] nodeAttributes = new int[nameValuePairs.length];
+            for (int i = 0; i < nameValuePairs.length; i++) {
+                nodeAttributes[i] = owner.string(nameValuePairs[i]);
+            }
+            attributes.set(node, nodeAttributes);
+            return node;
+        }
+
+        private void text(int parent, String text) {
+            add(parent, DomSnapshot.TEXT_NODE, "#text", text);
+        }
+
+        private void contentDocument(int iframe, int document) {
+            contentDocuments.add(new int[] {iframe, document});
+        }
+
+        private int add(int parent, int type, String name, String value) {
+            parents.add(parent);
+            types.add(type);
+            names.add(owner.string(name));
+            values.add(value != null ? owner.string(value) : -1);
+            attributes.add(new int[0]);
+            return parents.size() - 1;
+        }
+
+        private DocumentSnapshot build() {
+            int count = parents.size();
+            int[] backendNodeIds = new int[count];
+            for (int i = 0; i < count; i++) {
+                backendNodeIds[i] = i + 1;
+            }
+            NodeTreeSnapshot nodes = new NodeTreeSnapshot(toArray(parents), toArray(types), toArray(names),
+                                                          toArray(values), backendNodeIds,
+                                                          attributes.toArray(int[][]::new), null, null,
+                                                          new RareIntegerData(
+                                                                  contentDocuments.stream().mapToInt(p -> p[0]).toArray(),
+                                                                  contentDocuments.stream().mapToInt(p -> p[1]).toArray()));
+            LayoutTreeSnapshot layout = new LayoutTreeSnapshot(new int[0], new int[0][], new double[0][]);
+            return new DocumentSnapshot(-1, -1, nodes, layout);
+        }
+
+        private static int[] toArray(List<Integer> list) {
+            return list.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package io.playground.scraper.model.key;
+
+import org.openqa.selenium.Keys;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KeyboardCodeTest {
+
+    @DataProvider
+    public Object[][] characters() {
+        return new Object[][] {
+                {'a', KeyboardCode.a, false, "a", "a"},
+                {'A', KeyboardCode.a, true, "A", "A"},
+                {'z', KeyboardCode.z, false, "z", "z"},
+                {'1', KeyboardCode.DIGIT_1, false, "1", "1"},
+                {'!', KeyboardCode.DIGIT_1, true, "!", "!"},
+                {')', KeyboardCode.DIGIT_0, true, ")", ")"},
+                {'_', KeyboardCode.MINUS, true, "_", "_"},
+                {'+', KeyboardCode.EQUAL, true, "+", "+"},
+                {'"', KeyboardCode.QUOTE, true, "\"", "\""},
+                {'\\', KeyboardCode.BACKSLASH, false, "\\", "\\"},
+                {'?', KeyboardCode.SLASH, true, "?", "?"},
+                {' ', KeyboardCode.SPACE, false, " ", " "},
+                {'\n', KeyboardCode.ENTER, false, "Enter", "\r"},
+                {'\r', KeyboardCode.ENTER, false, "Enter", "\r"},
+                {'\t', KeyboardCode.TAB, false, "Tab", null},
+                {'\b', KeyboardCode.BACKSPACE, false, "Backspace", null},
+        };
+    }
+
+    @Test(dataProvider = "characters")
+    public void testForChar(char ch, KeyboardCode expectedCode, boolean expectedShift, String expectedKey, 
+                            String expectedText) {
+        KeyStroke stroke = KeyboardCode.forChar(ch);
+
+        assertThat(stroke).isNotNull();
+        assertThat(stroke.keyboardCode()).isEqualTo(expectedCode);
+        assertThat(stroke.shift()).isEqualTo(expectedShift);
+        assertThat(stroke.getKey()).isEqualTo(expectedKey);
+        assertThat(stroke.getText()).isEqualTo(expectedText);
+    }
+
+    @Test
+    public void testEveryPrintableAsciiCharacterHasAStroke() {
+        for (char ch = 0x20; ch <= 0x7E; ch++) {
+            KeyStroke stroke = KeyboardCode.forChar(ch);
+            assertThat(stroke).as("stroke for '%s'", ch).isNotNull();
+            assertThat(stroke.getText()).as("text for '%s'", ch).isEqualTo(String.valueOf(ch));
+        }
+    }
+
+    @DataProvider
+    public Object[][] seleniumKeys() {
+        return new Object[][] {
+                {Keys.ENTER, KeyboardCode.ENTER},
+                {Keys.RETURN, KeyboardCode.ENTER},
+                {Keys.BACK_SPACE, KeyboardCode.BACKSPACE},
+                {Keys.ARROW_LEFT, KeyboardCode.ARROW_LEFT},
+                {Keys.PAGE_DOWN, KeyboardCode.PAGE_DOWN},
+                {Keys.SHIFT, KeyboardCode.SHIFT},
+                {Keys.COMMAND, KeyboardCode.META},
+                {Keys.F12, KeyboardCode.F12},
+        };
+    }
+
+    @Test(dataProvider = "seleniumKeys")
+    public void testForSeleniumKey(Keys key, KeyboardCode expectedCode) {
+        KeyStroke stroke = KeyboardCode.forChar(key.charAt(0));
+
+        assertThat(stroke).isNotNull();
+        assertThat(stroke.keyboardCode()).isEqualTo(expectedCode);
+        assertThat(stroke.shift()).isFalse();
+    }
+
+    @Test
+    public void testModifierFlags() {
+        assertThat(KeyboardCode.SHIFT.getModifierFlag()).isEqualTo(KeyboardCode.MODIFIER_SHIFT);
+        assertThat(KeyboardCode.CONTROL.getModifierFlag()).isEqualTo(KeyboardCode.MODIFIER_CONTROL);
+        assertThat(KeyboardCode.a.getModifierFlag()).isZero();
+    }
+
+    @Test
+    public void testUnmappedCharacters() {
+        assertThat(KeyboardCode.forChar('é')).isNull();
+        assertThat(KeyboardCode.forChar('€')).isNull();
+        assertThat(KeyboardCode.forChar('\u0000')).isNull();
+    }
+}
@@ -0,0 +1,84 @@
+package io.playground.scraper.util;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class Base64UtilTest {
+
+    private static final int CHUNK_BYTES = 64 * 1024 / 4 * 3;
+
+    @DataProvider
+    public Object[][] sizes() {
+        return new Object[][] {
+                {0}, {1}, {2}, {3}, {4}, {1000},
+                {CHUNK_BYTES - 1}, {CHUNK_BYTES}, {CHUNK_BYTES + 1}, {CHUNK_BYTES + 2},
+                {3 * CHUNK_BYTES}, {1024 * 1024 + 7},
+        };
+    }
+
+    @Test(dataProvider = "sizes")
+    public void testDecodeToMatchesDecoder(int size) throws IOException {
+        byte[] data = randomBytes(size);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long written = Base64Util.decodeTo(Base64.getEncoder().encodeToString(data), Channels.newChannel(output));
+
+        assertThat(written).isEqualTo(size);
+        assertThat(output.toByteArray()).isEqualTo(data);
+    }
+
+    @Test
+    public void testDecodeToHandlesPartialWrites() throws IOException {
+        byte[] data = randomBytes(CHUNK_BYTES * 2 + 11);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        WritableByteChannel trickle = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer source) {
+                int length = Math.min(source.remaining(), 997);
+                byte[] bytes = new byte[length];
+                source.get(bytes);
+                output.write(bytes, 0, length);
+                return length;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        long written = Base64Util.decodeTo(Base64.getEncoder().encodeToString(data), trickle);
+
+        assertThat(written).isEqualTo(data.length);
+        assertThat(output.toByteArray()).isEqualTo(data);
+    }
+
+    @Test
+    public void testDecodeToRejectsInvalidInput() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        assertThatThrownBy(() -> Base64Util.decodeTo("not base64!", Channels.newChannel(output)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+}